@@ -0,0 +1,131 @@
+package quizapp;
+
+import java.awt.Component;
+import java.awt.Cursor;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.swing.JRootPane;
+import javax.swing.RootPaneContainer;
+import javax.swing.SwingUtilities;
+
+// AsyncDatabase Class
+// Runs database work off the Swing event dispatch thread and posts the results back to it,
+// so a slow query never freezes the UI.
+class AsyncDatabase implements AutoCloseable {
+    private static final String BUSY_COUNT = "AsyncDatabase.busyCount";
+
+    private final ExecutorService executor;
+
+    public AsyncDatabase() {
+        executor = newTaskExecutor("db-worker");
+    }
+
+    // Virtual threads when the runtime has them (Java 21+), otherwise a cached pool of daemon threads.
+    // Either way the connection pool, not the thread count, bounds concurrent database work.
+    static ExecutorService newTaskExecutor(String name) {
+        ExecutorService executor = newVirtualThreadExecutor();
+        return executor != null ? executor : Executors.newCachedThreadPool(daemonThreads(name));
+    }
+
+    // One virtual thread per task, or null before Java 21
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    static ThreadFactory daemonThreads(String name) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Run the task on a worker thread. Cancelling the returned future interrupts the worker and
+    // guarantees no callback sees the result.
+    public <T> CompletableFuture<T> submit(SqlTask<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> running = executor.submit(() -> {
+            if (future.isDone()) {
+                return; // Cancelled before it started
+            }
+            try {
+                future.complete(task.run());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                running.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    // Call from the EDT. Runs the task while the owner window shows a busy cursor; onSuccess and
+    // onError run on the EDT. Nothing is called back if the returned future is cancelled.
+    public <T> CompletableFuture<T> run(Component owner, SqlTask<T> task, Consumer<T> onSuccess,
+            Consumer<Throwable> onError) {
+        setBusy(owner, true);
+        CompletableFuture<T> future = submit(task);
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            setBusy(owner, false);
+            if (future.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                onError.accept(unwrap(error));
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+        return future;
+    }
+
+    // Same as above, reporting failures in an error dialog with the given title
+    public <T> CompletableFuture<T> run(Component owner, String errorTitle, SqlTask<T> task, Consumer<T> onSuccess) {
+        return run(owner, task, onSuccess,
+                error -> DatabaseManager.showErrorDialog(owner, errorTitle, error.getMessage()));
+    }
+
+    static Throwable unwrap(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException)
+                && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+
+    // Busy state is counted per window so overlapping tasks don't clear each other's cursor
+    private static void setBusy(Component owner, boolean busy) {
+        if (!(owner instanceof RootPaneContainer)) {
+            return;
+        }
+        JRootPane rootPane = ((RootPaneContainer) owner).getRootPane();
+        Object current = rootPane.getClientProperty(BUSY_COUNT);
+        int count = (current instanceof Integer ? (Integer) current : 0) + (busy ? 1 : -1);
+        rootPane.putClientProperty(BUSY_COUNT, Math.max(0, count));
+        Component glassPane = rootPane.getGlassPane();
+        glassPane.setCursor(count > 0 ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+        glassPane.setVisible(count > 0);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,363 @@
+package quizapp;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// ConnectionPool Class
+// Bounded pool of JDBC connections. A fair semaphore limits how many connections can be
+// borrowed at once and queues waiting borrowers in arrival order; idle connections are kept
+// in a LIFO deque so the most recently used (warmest) connection is handed out first.
+class ConnectionPool implements AutoCloseable {
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long validationIntervalMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    // Counters
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong borrowed = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password, int maxSize, int minIdle,
+            long borrowTimeoutMillis, long idleTimeoutMillis, int statementCacheSize) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: max=" + maxSize + ", minIdle=" + minIdle);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.minIdle = minIdle;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationIntervalMillis = 500;
+        this.validationTimeoutSeconds = 2;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Open the minimum number of idle connections so the first borrowers don't pay the connect cost
+    public void start() throws SQLException {
+        fillToMinIdle();
+    }
+
+    // Borrow a connection; closing the returned connection hands it back to the pool
+    public Connection getConnection() throws SQLException {
+        PooledConnection pooled = borrow();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandle(pooled));
+    }
+
+    PooledConnection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTransientConnectionException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (" + permits.getQueueLength() + " waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledConnection pooled = takeOrCreate(deadline);
+            borrowed.incrementAndGet();
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeOrCreate(long deadline) throws SQLException {
+        while (true) {
+            PooledConnection pooled = idle.pollFirst();
+            if (pooled != null) {
+                if (isUsable(pooled)) {
+                    return pooled;
+                }
+                validationFailures.incrementAndGet();
+                destroy(pooled);
+                continue;
+            }
+            if (reserveSlot()) {
+                return open();
+            }
+            // Every slot is in use by a connection that is being returned; wait for it
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                timeouts.incrementAndGet();
+                throw new SQLTransientConnectionException("Timed out waiting for a database connection");
+            }
+            try {
+                pooled = idle.pollFirst(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", e);
+            }
+            if (pooled != null) {
+                idle.offerFirst(pooled);
+            }
+        }
+    }
+
+    // Validate only connections that sat idle for a while; a connection used moments ago is
+    // almost certainly alive and isValid() costs a round-trip
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.connection.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - pooled.lastUsedMillis < validationIntervalMillis) {
+                return true;
+            }
+            return pooled.connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void release(PooledConnection pooled) {
+        try {
+            if (closed || pooled.broken || pooled.connection.isClosed()) {
+                destroy(pooled);
+                return;
+            }
+            if (!pooled.connection.getAutoCommit()) {
+                pooled.connection.rollback();
+                pooled.connection.setAutoCommit(true);
+            }
+            pooled.lastUsedMillis = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            destroy(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Caller must have reserved a slot
+    private PooledConnection open() throws SQLException {
+        try {
+            Connection connection = DriverManager.getConnection(url, user, password);
+            created.incrementAndGet();
+            return new PooledConnection(connection, new StatementCache(connection, statementCacheSize,
+                    statementHits, statementMisses));
+        } catch (SQLException | RuntimeException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+        destroyed.incrementAndGet();
+        pooled.statements.clear();
+        try {
+            pooled.connection.close();
+        } catch (SQLException e) {
+            // Connection is being discarded anyway
+        }
+    }
+
+    private void fillToMinIdle() throws SQLException {
+        while (!closed && idle.size() < minIdle && reserveSlot()) {
+            idle.offerLast(open());
+        }
+    }
+
+    // Evict connections idle for longer than the idle timeout, then top back up to minIdle
+    private void houseKeep() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalConnections.get() > minIdle) {
+            PooledConnection pooled = it.next();
+            if (now - pooled.lastUsedMillis > idleTimeoutMillis && idle.removeLastOccurrence(pooled)) {
+                destroy(pooled);
+            }
+        }
+        try {
+            fillToMinIdle();
+        } catch (SQLException e) {
+            System.err.println("Connection pool could not open idle connection: " + e.getMessage());
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(totalConnections.get(), idle.size(), maxSize - permits.availablePermits(),
+                permits.getQueueLength(), created.get(), destroyed.get(), borrowed.get(), timeouts.get(),
+                validationFailures.get(), statementHits.sum(), statementMisses.sum());
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    // Physical connection plus the bookkeeping the pool needs for it
+    static class PooledConnection {
+        final Connection connection;
+        final StatementCache statements;
+        volatile long lastUsedMillis = System.currentTimeMillis();
+        volatile boolean broken;
+
+        PooledConnection(Connection connection, StatementCache statements) {
+            this.connection = connection;
+            this.statements = statements;
+        }
+    }
+
+    // Handed out to callers; close() returns the connection instead of closing it. A handle is
+    // used by one thread at a time, so only close() needs guarding against a double release; the
+    // JDBC calls themselves run unlocked so a virtual thread never pins its carrier on a query
+    private class ConnectionHandle implements InvocationHandler {
+        private final AtomicReference<PooledConnection> pooled;
+
+        ConnectionHandle(PooledConnection pooled) {
+            this.pooled = new AtomicReference<>(pooled);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                PooledConnection returned = pooled.getAndSet(null);
+                if (returned != null) {
+                    release(returned);
+                }
+                return null;
+            }
+            PooledConnection current = pooled.get();
+            if ("isClosed".equals(name)) {
+                return current == null || current.connection.isClosed();
+            }
+            if ("equals".equals(name)) {
+                return proxy == args[0];
+            }
+            if ("hashCode".equals(name)) {
+                return System.identityHashCode(proxy);
+            }
+            if ("toString".equals(name)) {
+                return "PooledConnection[" + (current == null ? "returned" : current.connection) + "]";
+            }
+            if (current == null) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(current.connection, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException && isConnectionError((SQLException) cause)) {
+                    current.broken = true;
+                }
+                throw cause;
+            }
+        }
+    }
+
+    // SQLState class 08 is "connection exception"
+    static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+
+    // Stats Class
+    static class Stats {
+        final int total;
+        final int idle;
+        final int active;
+        final int waiting;
+        final long created;
+        final long destroyed;
+        final long borrowed;
+        final long timeouts;
+        final long validationFailures;
+        final long statementHits;
+        final long statementMisses;
+
+        Stats(int total, int idle, int active, int waiting, long created, long destroyed, long borrowed,
+                long timeouts, long validationFailures, long statementHits, long statementMisses) {
+            this.total = total;
+            this.idle = idle;
+            this.active = active;
+            this.waiting = waiting;
+            this.created = created;
+            this.destroyed = destroyed;
+            this.borrowed = borrowed;
+            this.timeouts = timeouts;
+            this.validationFailures = validationFailures;
+            this.statementHits = statementHits;
+            this.statementMisses = statementMisses;
+        }
+
+        @Override
+        public String toString() {
+            return "total=" + total + ", idle=" + idle + ", active=" + active + ", waiting=" + waiting
+                    + ", created=" + created + ", destroyed=" + destroyed + ", borrowed=" + borrowed
+                    + ", timeouts=" + timeouts + ", validationFailures=" + validationFailures
+                    + ", statementHits=" + statementHits + ", statementMisses=" + statementMisses;
+        }
+    }
+}
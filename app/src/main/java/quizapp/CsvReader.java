@@ -0,0 +1,96 @@
+package quizapp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// CsvReader Class
+// Reads RFC 4180 records one at a time: quoted fields may contain commas, doubled quotes and line
+// breaks; LF and CRLF line ends are both accepted. Blank lines are skipped.
+class CsvReader {
+    private final BufferedReader reader;
+    private long currentLine;
+    private long recordLine;
+
+    public CsvReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    // Column index by lower-cased, trimmed header name
+    public static Map<String, Integer> columnsOf(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; header != null && i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(), i);
+        }
+        return columns;
+    }
+
+    // The field, or null if the record is too short or the field is empty
+    public static String field(List<String> record, Integer column) {
+        String value = column != null && column < record.size() ? record.get(column) : "";
+        return value.isEmpty() ? null : value;
+    }
+
+    // The next record, or null at the end of the input
+    public List<String> readRecord() throws IOException {
+        List<String> record;
+        do {
+            record = readLine();
+        } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+        return record;
+    }
+
+    // Line number where the record last returned by readRecord() starts
+    public long recordLine() {
+        return recordLine;
+    }
+
+    private List<String> readLine() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = ++currentLine;
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    break; // Unterminated quote: take what there is
+                } else if (c == '"') {
+                    reader.mark(1);
+                    int nextChar = reader.read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    if (c == '\n') {
+                        currentLine++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r') {
+                // Part of a CRLF line end
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        record.add(field.toString());
+        return record;
+    }
+}
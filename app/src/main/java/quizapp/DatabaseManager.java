@@ -0,0 +1,1047 @@
+package quizapp;
+
+import java.awt.Component;
+import java.awt.GraphicsEnvironment;
+import java.lang.management.ManagementFactory;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+
+// DatabaseManager Class (Implements AutoCloseable)
+class DatabaseManager implements AutoCloseable {
+    // reWriteBatchedInserts lets PgJDBC send a batch of INSERTs as multi-row statements
+    private static final String URL = "jdbc:postgresql://localhost:5432/quizapp?reWriteBatchedInserts=true";
+    private static final String USER = "postgres";
+    private static final String PASSWORD = "root";
+
+    private static final int POOL_MAX_SIZE = Integer.getInteger("quizapp.pool.maxSize", 10);
+    private static final int POOL_MIN_IDLE = Integer.getInteger("quizapp.pool.minIdle", 2);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("quizapp.pool.borrowTimeoutMs", 10_000);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("quizapp.pool.idleTimeoutMs", 300_000);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("quizapp.pool.statementCacheSize", 64);
+
+    private static final int SESSION_CACHE_SIZE = Integer.getInteger("quizapp.sessions.cacheSize", 10_000);
+    private static final long SESSION_CACHE_MAX_STALE_MS = Long.getLong("quizapp.sessions.cacheMaxStaleMs", 300_000);
+    private static final long SESSION_SWEEP_INTERVAL_S = Long.getLong("quizapp.sessions.sweepIntervalSeconds", 300);
+    private static final int SESSION_SWEEP_BATCH_SIZE = Integer.getInteger("quizapp.sessions.sweepBatchSize", 500);
+
+    private static final int PASSWORD_ITERATIONS = Integer.getInteger("quizapp.password.iterations", 310_000);
+    private static final int PASSWORD_WORKERS = Integer.getInteger("quizapp.password.workers",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private static final int PASSWORD_QUEUE_SIZE = Integer.getInteger("quizapp.password.queueSize", 1024);
+
+    private static final int QUIZ_CACHE_SIZE = Integer.getInteger("quizapp.quizCache.size", 256);
+    private static final long QUIZ_CACHE_TTL_MS = Long.getLong("quizapp.quizCache.ttlMs", 600_000);
+
+    // Fixed: existing answer_counts rows are keyed by response_id % ANSWER_COUNT_SLOTS
+    private static final int ANSWER_COUNT_SLOTS = 16;
+    private static final int ANSWER_COUNT_REBUILD_THREADS = Integer.getInteger("quizapp.answerCounts.rebuildThreads",
+            Math.max(1, POOL_MAX_SIZE / 2));
+
+    // Submissions are journaled here and written to the database in the background; empty path = off
+    private static final String JOURNAL_PATH = System.getProperty("quizapp.journal.path",
+            System.getProperty("user.home") + "/.quizapp/submissions.journal");
+    private static final int JOURNAL_SIZE_MB = Integer.getInteger("quizapp.journal.sizeMb", 64);
+    private static final int SUBMISSION_BATCH_SIZE = Integer.getInteger("quizapp.submissions.batchSize", 200);
+
+    private static final long SLOW_QUERY_MS = Long.getLong("quizapp.metrics.slowQueryMs", 1_000);
+    private static final Integer METRICS_PORT = Integer.getInteger("quizapp.metrics.port"); // Off unless set
+
+    // Statements behind every login and the first quiz list; the startup warm-up prepares them
+    private static final String FIND_USER_SQL = "SELECT user_id, name, password, role FROM users WHERE username = ?";
+    private static final String INSERT_SESSION_SQL = "INSERT INTO sessions (user_id, token, expiry_time) VALUES (?, ?, ?)";
+    private static final String FIND_SESSION_SQL = "SELECT s.user_id, s.expiry_time, u.name, u.username, u.role FROM sessions s JOIN users u ON s.user_id = u.user_id WHERE s.token = ?";
+    private static final String QUIZ_PAGE_SQL = "SELECT quiz_id, title FROM quizzes WHERE quiz_id > ? ORDER BY quiz_id LIMIT ? OFFSET ?";
+
+    private static final RowSetFactory ROW_SET_FACTORY = createRowSetFactory();
+
+    private final ConnectionPool pool;
+    private final AsyncDatabase async;
+    private final SessionCache sessionCache = new SessionCache(SESSION_CACHE_SIZE, SESSION_CACHE_MAX_STALE_MS);
+    private final ScheduledExecutorService maintenance;
+    private final QuizSnapshotCache quizCache = new QuizSnapshotCache(QUIZ_CACHE_SIZE, QUIZ_CACHE_TTL_MS,
+            this::loadQuizSnapshot);
+    private final PasswordService passwordService = new PasswordService(
+            new Pbkdf2PasswordHasher(PASSWORD_ITERATIONS), List.of(new LegacyMd5PasswordHasher()), PASSWORD_WORKERS,
+            PASSWORD_QUEUE_SIZE);
+    private final QueryMetrics metrics = new QueryMetrics(SLOW_QUERY_MS);
+    private ObjectName metricsName;
+    private MetricsEndpoint metricsEndpoint;
+    private ResponseNotifier responseNotifier;
+    private final SubmissionWriter submissionWriter;
+    private final CompletableFuture<Void> ready;
+
+    // Returns immediately; the driver is loaded and the initial connections opened and warmed up
+    // on a worker thread
+    public DatabaseManager() {
+        pool = new ConnectionPool(URL, USER, PASSWORD, POOL_MAX_SIZE, POOL_MIN_IDLE, POOL_BORROW_TIMEOUT_MS,
+                POOL_IDLE_TIMEOUT_MS, STATEMENT_CACHE_SIZE);
+        async = new AsyncDatabase();
+        ready = async.submit(() -> {
+            loadDriver();
+            StartupTimings.mark("driver loaded");
+            pool.start();
+            StartupTimings.mark("database connected");
+            warmUp();
+            StartupTimings.mark("statements prepared");
+            return null;
+        });
+        ready.whenComplete((result, error) -> {
+            if (error == null) {
+                System.out.println("Database connected successfully.");
+            } else {
+                showErrorDialog(null, "Database Connection Error", AsyncDatabase.unwrap(error).getMessage());
+            }
+        });
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "database-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenance.scheduleWithFixedDelay(this::sweepExpiredSessions, SESSION_SWEEP_INTERVAL_S,
+                SESSION_SWEEP_INTERVAL_S, TimeUnit.SECONDS);
+
+        publishMetrics();
+        submissionWriter = openSubmissionWriter();
+    }
+
+    // Without a journal (disabled, or held by another instance) submissions are written directly
+    private SubmissionWriter openSubmissionWriter() {
+        if (JOURNAL_PATH.isEmpty()) {
+            return null;
+        }
+        java.nio.file.Path journalPath = java.nio.file.Path.of(JOURNAL_PATH);
+        try {
+            SubmissionJournal journal = new SubmissionJournal(journalPath, JOURNAL_SIZE_MB << 20);
+            return new SubmissionWriter(this, journal, SUBMISSION_BATCH_SIZE,
+                    journalPath.resolveSibling(journalPath.getFileName() + ".rejected"));
+        } catch (java.io.IOException e) {
+            System.err.println("Submission journal unavailable, writing submissions directly: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Metrics are optional; failing to publish them must not stop the application
+    private void publishMetrics() {
+        try {
+            ObjectName name = new ObjectName("quizapp:type=QueryMetrics");
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, name);
+                metricsName = name;
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register query metrics MBean: " + e.getMessage());
+        }
+        if (METRICS_PORT != null) {
+            try {
+                metricsEndpoint = new MetricsEndpoint(METRICS_PORT, this::getMetricsText);
+                System.out.println("Metrics at http://127.0.0.1:" + metricsEndpoint.getPort() + "/metrics");
+            } catch (java.io.IOException e) {
+                System.err.println("Could not start metrics endpoint: " + e.getMessage());
+            }
+        }
+    }
+
+    public AsyncDatabase async() {
+        return async;
+    }
+
+    // Completes once the initial connections are open and warmed up, or with the connection error
+    public CompletableFuture<Void> ready() {
+        return ready;
+    }
+
+    // DriverManager would find the driver on the first connect anyway; loading it first keeps
+    // its class loading out of the connect timing
+    private static void loadDriver() throws SQLException {
+        try {
+            Class.forName("org.postgresql.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("PostgreSQL JDBC driver not found on the class path", e);
+        }
+    }
+
+    // Prepare the login statements on each of the initial connections, so the first login doesn't
+    // pay for parsing and planning. Reads are run once with arguments that match nothing, which
+    // makes the server keep a prepared plan; writes are only prepared. Best effort: a failure here
+    // just means the first login prepares them itself.
+    private void warmUp() {
+        List<ConnectionPool.PooledConnection> borrowed = new ArrayList<>();
+        try {
+            for (int i = 0; i < POOL_MIN_IDLE; i++) {
+                borrowed.add(pool.borrow());
+            }
+            for (ConnectionPool.PooledConnection pooled : borrowed) {
+                warmUpRead(pooled, FIND_USER_SQL, "");
+                warmUpRead(pooled, FIND_SESSION_SQL, "");
+                warmUpRead(pooled, QUIZ_PAGE_SQL, Integer.MAX_VALUE, 1, 0);
+                pooled.statements.prepare(INSERT_SESSION_SQL);
+            }
+        } catch (SQLException e) {
+            System.err.println("Statement warm-up skipped: " + e.getMessage());
+        } finally {
+            for (ConnectionPool.PooledConnection pooled : borrowed) {
+                pool.release(pooled);
+            }
+        }
+    }
+
+    private void warmUpRead(ConnectionPool.PooledConnection pooled, String query, Object... params)
+            throws SQLException {
+        PreparedStatement statement = pooled.statements.prepare(query);
+        statement.unwrap(org.postgresql.PGStatement.class).setPrepareThreshold(1);
+        setStatementParams(statement, params);
+        statement.executeQuery().close();
+    }
+
+    private static RowSetFactory createRowSetFactory() {
+        try {
+            return RowSetProvider.newFactory();
+        } catch (SQLException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Borrow a pooled connection; the caller must close it to return it to the pool
+    public Connection getConnection() throws SQLException {
+        return pool.getConnection();
+    }
+
+    public ConnectionPool.Stats getPoolStats() {
+        return pool.getStats();
+    }
+
+    // Started on first use; it keeps one connection of its own (LISTEN doesn't survive the pool)
+    public synchronized ResponseNotifier getResponseNotifier() {
+        if (responseNotifier == null) {
+            responseNotifier = new ResponseNotifier(() -> DriverManager.getConnection(URL, USER, PASSWORD));
+        }
+        return responseNotifier;
+    }
+
+    public SessionCache.Stats getSessionCacheStats() {
+        return sessionCache.getStats();
+    }
+
+    public QuizSnapshotCache.Stats getQuizCacheStats() {
+        return quizCache.getStats();
+    }
+
+    public QueryMetrics getQueryMetrics() {
+        return metrics;
+    }
+
+    // Query metrics plus pool gauges, in Prometheus text format
+    public String getMetricsText() {
+        ConnectionPool.Stats poolStats = pool.getStats();
+        return metrics.getText() + StartupTimings.getMetricsText()
+                + "# TYPE quizapp_pool_connections gauge\n"
+                + "quizapp_pool_connections{state=\"active\"} " + poolStats.active + "\n"
+                + "quizapp_pool_connections{state=\"idle\"} " + poolStats.idle + "\n"
+                + "# TYPE quizapp_pool_waiting gauge\n"
+                + "quizapp_pool_waiting " + poolStats.waiting + "\n"
+                + "# TYPE quizapp_pool_timeouts_total counter\n"
+                + "quizapp_pool_timeouts_total " + poolStats.timeouts + "\n"
+                + "# TYPE quizapp_statement_cache_total counter\n"
+                + "quizapp_statement_cache_total{result=\"hit\"} " + poolStats.statementHits + "\n"
+                + "quizapp_statement_cache_total{result=\"miss\"} " + poolStats.statementMisses + "\n";
+    }
+
+    public int executeUpdate(String query, Object... params) throws SQLException {
+        return withStatement(query, params, (statement, sample) -> {
+            int count = statement.executeUpdate();
+            sample.rows = count;
+            return count;
+        });
+    }
+
+    // Run a query and hand the open result set to the handler; the result set is always closed.
+    // Rows aren't counted in the query metrics here, since only the handler sees them; the helpers
+    // below and the loaders that call withStatement directly count their own rows.
+    public <T> T query(String query, ResultSetHandler<T> handler, Object... params) throws SQLException {
+        return withStatement(query, params, (statement, sample) -> {
+            try (ResultSet rs = statement.executeQuery()) {
+                return handler.handle(rs);
+            }
+        });
+    }
+
+    public <T> List<T> queryForList(String query, RowMapper<T> mapper, Object... params) throws SQLException {
+        return withStatement(query, params, (statement, sample) -> {
+            List<T> rows = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapper.mapRow(rs));
+                }
+            }
+            sample.rows = rows.size();
+            return rows;
+        });
+    }
+
+    // Returns the first row mapped, or null if the query returned no rows
+    public <T> T queryForObject(String query, RowMapper<T> mapper, Object... params) throws SQLException {
+        return withStatement(query, params, (statement, sample) -> {
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                sample.rows = 1;
+                return mapper.mapRow(rs);
+            }
+        });
+    }
+
+    // Returns a disconnected copy of the result; prefer query()/queryForList() which don't copy
+    public ResultSet executeQuery(String query, Object... params) throws SQLException {
+        return withStatement(query, params, (statement, sample) -> {
+            CachedRowSet rows = ROW_SET_FACTORY.createCachedRowSet();
+            try (ResultSet rs = statement.executeQuery()) {
+                rows.populate(rs);
+            }
+            sample.rows = rows.size();
+            return rows;
+        });
+    }
+
+    // Borrow a connection, run the action with its cached statement for this SQL, and return it
+    // The time spent waiting for a pooled connection counts towards the statement's latency
+    private <T> T withStatement(String query, Object[] params, StatementCallback<T> action) throws SQLException {
+        try (QueryMetrics.Sample sample = metrics.start(query)) {
+            ConnectionPool.PooledConnection pooled;
+            try {
+                pooled = pool.borrow();
+            } catch (SQLException e) {
+                sample.failed(e);
+                throw e;
+            }
+            try {
+                PreparedStatement statement = pooled.statements.prepare(query);
+                setStatementParams(statement, params);
+                return action.doWithStatement(statement, sample);
+            } catch (SQLException e) {
+                sample.failed(e);
+                pooled.statements.evict(query);
+                if (ConnectionPool.isConnectionError(e)) {
+                    pooled.broken = true;
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                sample.failed(e);
+                throw e;
+            } finally {
+                pool.release(pooled);
+            }
+        }
+    }
+
+    // Run the work on one connection inside a single transaction, rolling back on any failure
+    public <T> T inTransaction(TransactionCallback<T> work) throws SQLException {
+        return inTransaction("transaction", work);
+    }
+
+    // Same, recording the whole transaction in the query metrics under the given name
+    public <T> T inTransaction(String name, TransactionCallback<T> work) throws SQLException {
+        return inTransaction(name, Connection.TRANSACTION_READ_COMMITTED, work);
+    }
+
+    // Same, at the given isolation level (a Connection.TRANSACTION_* constant). Pooled connections go
+    // back to the pool at READ COMMITTED.
+    public <T> T inTransaction(String name, int isolation, TransactionCallback<T> work) throws SQLException {
+        try (QueryMetrics.Sample sample = metrics.start("transaction: " + name);
+                Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            if (isolation != Connection.TRANSACTION_READ_COMMITTED) {
+                connection.setTransactionIsolation(isolation);
+            }
+            try {
+                T result = work.doInTransaction(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException e) {
+                sample.failed(e);
+                connection.rollback();
+                throw e;
+            } catch (RuntimeException e) {
+                sample.failed(e);
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+                if (isolation != Connection.TRANSACTION_READ_COMMITTED) {
+                    connection.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+                }
+            }
+        }
+    }
+
+    private void setStatementParams(PreparedStatement statement, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+    }
+
+    // Safe to call from any thread; the dialog is always shown on the event dispatch thread.
+    // In headless (server) mode the error is printed instead.
+    public static void showErrorDialog(Component parent, String title, String message) {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println(title + ": " + message);
+            return;
+        }
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> showErrorDialog(parent, title, message));
+            return;
+        }
+        JOptionPane.showMessageDialog(parent, message, title, JOptionPane.ERROR_MESSAGE);
+    }
+
+    @Override
+    public void close() throws Exception {
+        synchronized (this) {
+            if (responseNotifier != null) {
+                responseNotifier.close();
+            }
+        }
+        if (metricsEndpoint != null) {
+            metricsEndpoint.close();
+        }
+        if (metricsName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsName);
+        }
+        maintenance.shutdownNow();
+        if (submissionWriter != null) {
+            submissionWriter.close();
+        }
+        passwordService.close();
+        async.close();
+        pool.close();
+    }
+
+    // User registration
+    public void registerUser(String name, String username, String password, String role)
+            throws SQLException, UserAlreadyExistsException, ServerBusyException {
+        String hashedPassword = passwordService.hash(password);
+        // One statement: no window between checking the username and inserting it
+        int created = executeUpdate("INSERT INTO users (name, username, password, role) VALUES (?, ?, ?, ?) "
+                + "ON CONFLICT (username) DO NOTHING", name, username, hashedPassword, role);
+        if (created == 0) {
+            throw new UserAlreadyExistsException("Username already exists");
+        }
+    }
+
+    // Create many users at once, skipping usernames that are taken. Returns the usernames that were
+    // created. Taken usernames are looked up first so their passwords aren't hashed for nothing;
+    // ON CONFLICT still covers a username taken in between. Usernames must be distinct.
+    public Set<String> registerUsers(List<NewUser> users)
+            throws SQLException, ServerBusyException {
+        String[] usernames = users.stream().map(user -> user.username).toArray(String[]::new);
+        Set<String> taken = new HashSet<>(queryForList("SELECT username FROM users WHERE username = ANY(?)",
+                rs -> rs.getString("username"), (Object) usernames));
+        List<NewUser> toCreate = new ArrayList<>();
+        for (NewUser user : users) {
+            if (!taken.contains(user.username)) {
+                toCreate.add(user);
+            }
+        }
+        if (toCreate.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> hashes = passwordService.hashAll(toCreate.stream().map(user -> user.password).toList());
+        return new HashSet<>(queryForList("INSERT INTO users (name, username, password, role) "
+                + "SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::text[]) "
+                + "ON CONFLICT (username) DO NOTHING RETURNING username",
+                rs -> rs.getString("username"),
+                toCreate.stream().map(user -> user.name).toArray(String[]::new),
+                toCreate.stream().map(user -> user.username).toArray(String[]::new),
+                hashes.toArray(new String[0]),
+                toCreate.stream().map(user -> user.role).toArray(String[]::new)));
+    }
+
+    // User login
+    public String loginUser(String username, String password)
+            throws SQLException, UserNotFoundException, InvalidPasswordException, ServerBusyException {
+        User user = queryForObject(FIND_USER_SQL,
+                rs -> new User(rs.getInt("user_id"), rs.getString("name"), username, rs.getString("password"),
+                        rs.getString("role")),
+                username);
+        if (user != null) {
+            String hashedPassword = user.password;
+            int userId = user.userId;
+            if (passwordService.verify(password, hashedPassword)) {
+                // Transparently upgrade legacy or weaker hashes now that we know the password
+                if (passwordService.needsRehash(hashedPassword)) {
+                    executeUpdate("UPDATE users SET password = ? WHERE user_id = ? AND password = ?",
+                            passwordService.hash(password), userId, hashedPassword);
+                }
+                // Generate token
+                String token = generateToken();
+                // Set expiry time (e.g., 1 hour from now)
+                Timestamp expiryTime = new Timestamp(System.currentTimeMillis() + 3600 * 1000);
+                executeUpdate(INSERT_SESSION_SQL, userId, token, expiryTime);
+                sessionCache.put(token, new User(userId, user.name, username, "", user.role), expiryTime.getTime());
+                return token;
+            } else {
+                throw new InvalidPasswordException("Invalid password");
+            }
+        } else {
+            throw new UserNotFoundException("User not found");
+        }
+    }
+
+    // Validate session; served from the session cache when possible
+    public User validateSession(String token) throws SQLException, SessionExpiredException {
+        SessionCache.Entry cached = sessionCache.get(token);
+        if (cached != null) {
+            if (cached.isExpired()) {
+                throw new SessionExpiredException("Session expired");
+            }
+            return cached.user;
+        }
+
+        SessionRow session = queryForObject(FIND_SESSION_SQL,
+                rs -> new SessionRow(new User(rs.getInt("user_id"), rs.getString("name"), rs.getString("username"),
+                        "", rs.getString("role")), rs.getTimestamp("expiry_time")), // password not needed
+                token);
+        if (session == null) {
+            return null; // Invalid token
+        }
+        if (session.expiryTime.after(new Timestamp(System.currentTimeMillis()))) {
+            sessionCache.put(token, session.user, session.expiryTime.getTime());
+            return session.user;
+        } else {
+            throw new SessionExpiredException("Session expired");
+        }
+    }
+
+    // Logout user
+    public void logoutUser(String token) throws SQLException {
+        sessionCache.invalidate(token);
+        executeUpdate("DELETE FROM sessions WHERE token = ?", token);
+    }
+
+    // Delete expired sessions in small batches so the sweep never holds many row locks at once.
+    // logoutUser only removes explicit logouts; without this the sessions table grows forever.
+    public int sweepExpiredSessions() {
+        sessionCache.purgeExpired();
+        int total = 0;
+        try {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            int deleted;
+            do {
+                deleted = executeUpdate(
+                        "DELETE FROM sessions WHERE session_id IN (SELECT session_id FROM sessions WHERE expiry_time < ? LIMIT ?)",
+                        now, SESSION_SWEEP_BATCH_SIZE);
+                total += deleted;
+            } while (deleted == SESSION_SWEEP_BATCH_SIZE);
+        } catch (SQLException e) {
+            System.err.println("Expired session sweep failed: " + e.getMessage());
+        }
+        return total;
+    }
+
+    // Save a quiz and all its questions atomically: one INSERT ... RETURNING for the quiz and one
+    // JDBC batch for the questions, instead of a round-trip per question
+    public int saveQuiz(String title, List<QuestionDraft> questions) throws SQLException {
+        int savedQuizId = inTransaction("saveQuiz", connection -> {
+            int quizId;
+            try (PreparedStatement quizStatement = connection
+                    .prepareStatement("INSERT INTO quizzes (title) VALUES (?) RETURNING quiz_id")) {
+                quizStatement.setString(1, title);
+                try (ResultSet rs = quizStatement.executeQuery()) {
+                    rs.next();
+                    quizId = rs.getInt("quiz_id");
+                }
+            }
+
+            for (int i = 0; i < questions.size(); i++) {
+                questions.get(i).position = i;
+            }
+            insertQuestions(connection, quizId, questions);
+            return quizId;
+        });
+        // Drops a "no such quiz" result cached before the quiz existed
+        quizCache.invalidate(savedQuizId);
+        return savedQuizId;
+    }
+
+    private static void insertQuestions(Connection connection, int quizId, List<QuestionDraft> questions)
+            throws SQLException {
+        try (PreparedStatement questionStatement = connection.prepareStatement(
+                "INSERT INTO questions (quiz_id, question_text, question_type, options, correct_answer, position) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (QuestionDraft question : questions) {
+                questionStatement.setInt(1, quizId);
+                questionStatement.setString(2, question.questionText);
+                questionStatement.setString(3, question.questionType);
+                questionStatement.setString(4, String.join("~", question.options));
+                questionStatement.setString(5, question.correctAnswer);
+                questionStatement.setInt(6, question.position);
+                questionStatement.addBatch();
+            }
+            questionStatement.executeBatch();
+        }
+    }
+
+    // The quiz with its questions and answer keys, in order; null if it doesn't exist
+    public QuizDraft loadQuizForEdit(int quizId) throws SQLException {
+        return withStatement("SELECT z.title, q.question_id, q.question_text, q.question_type, q.options, q.correct_answer, "
+                + "q.position FROM quizzes z LEFT JOIN questions q ON q.quiz_id = z.quiz_id WHERE z.quiz_id = ? "
+                + "ORDER BY q.position, q.question_id", new Object[] { quizId }, (statement, sample) -> {
+                    String title = null;
+                    List<QuestionDraft> questions = new ArrayList<>();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            sample.rows++;
+                            title = rs.getString("title");
+                            int questionId = rs.getInt("question_id");
+                            if (!rs.wasNull()) {
+                                String options = rs.getString("options");
+                                QuestionDraft question = new QuestionDraft(questionId, rs.getString("question_text"),
+                                        rs.getString("question_type"),
+                                        options == null || options.isEmpty() ? List.of() : List.of(options.split("~")),
+                                        rs.getString("correct_answer"));
+                                question.position = rs.getInt("position");
+                                questions.add(question);
+                            }
+                        }
+                    }
+                    return title == null ? null : new QuizDraft(quizId, title, questions);
+                });
+    }
+
+    // Save an edited quiz in one transaction, writing only what changed (see QuizChanges): all
+    // edited and moved questions go in one UPDATE, whatever their number. Responses keep pointing at
+    // the same question rows. A question whose answer key, type or options changed gets a new
+    // key_version, so the next grading run re-scores just that question. Throws if a question being
+    // changed was deleted in the meantime.
+    public void updateQuiz(int quizId, QuizChanges changes) throws SQLException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        inTransaction("updateQuiz", connection -> {
+            // Questions moving in or out of answer_counts are locked before anything else, the same way
+            // rebuildAnswerCounts() does, so no submission counts against them half-way
+            Array countingChanged = connection.createArrayOf("integer", changes.countingChanged.toArray());
+            if (!changes.countingChanged.isEmpty()) {
+                try (PreparedStatement lock = connection.prepareStatement(
+                        "SELECT 1 FROM questions WHERE question_id = ANY(?) ORDER BY question_id FOR UPDATE")) {
+                    lock.setArray(1, countingChanged);
+                    lock.executeQuery().close();
+                }
+            }
+
+            if (changes.title != null) {
+                try (PreparedStatement statement = connection
+                        .prepareStatement("UPDATE quizzes SET title = ? WHERE quiz_id = ?")) {
+                    statement.setString(1, changes.title);
+                    statement.setInt(2, quizId);
+                    if (statement.executeUpdate() == 0) {
+                        throw new SQLException("The quiz has been deleted");
+                    }
+                }
+            }
+
+            if (!changes.deleted.isEmpty()) {
+                try (PreparedStatement statement = connection
+                        .prepareStatement("DELETE FROM questions WHERE question_id = ANY(?) AND quiz_id = ?")) {
+                    statement.setArray(1, connection.createArrayOf("integer", changes.deleted.toArray()));
+                    statement.setInt(2, quizId);
+                    statement.executeUpdate(); // Already gone is fine
+                }
+            }
+
+            if (!changes.updated.isEmpty()) {
+                int count = changes.updated.size();
+                Integer[] ids = new Integer[count];
+                String[] texts = new String[count];
+                String[] types = new String[count];
+                String[] options = new String[count];
+                String[] keys = new String[count];
+                Integer[] positions = new Integer[count];
+                for (int i = 0; i < count; i++) {
+                    QuestionDraft question = changes.updated.get(i);
+                    ids[i] = question.questionId;
+                    texts[i] = question.questionText;
+                    types[i] = question.questionType;
+                    options[i] = String.join("~", question.options);
+                    keys[i] = question.correctAnswer;
+                    positions[i] = question.position;
+                }
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "UPDATE questions q SET question_text = v.question_text, question_type = v.question_type, "
+                                + "options = v.options, correct_answer = v.correct_answer, position = v.position, "
+                                + "key_version = q.key_version + CASE WHEN q.question_type IS DISTINCT FROM v.question_type "
+                                + "OR q.options IS DISTINCT FROM v.options OR q.correct_answer IS DISTINCT FROM v.correct_answer "
+                                + "THEN 1 ELSE 0 END "
+                                + "FROM unnest(?::integer[], ?::text[], ?::text[], ?::text[], ?::text[], ?::integer[]) "
+                                + "AS v(question_id, question_text, question_type, options, correct_answer, position) "
+                                + "WHERE q.question_id = v.question_id AND q.quiz_id = ?")) {
+                    statement.setArray(1, connection.createArrayOf("integer", ids));
+                    statement.setArray(2, connection.createArrayOf("text", texts));
+                    statement.setArray(3, connection.createArrayOf("text", types));
+                    statement.setArray(4, connection.createArrayOf("text", options));
+                    statement.setArray(5, connection.createArrayOf("text", keys));
+                    statement.setArray(6, connection.createArrayOf("integer", positions));
+                    statement.setInt(7, quizId);
+                    if (statement.executeUpdate() != count) {
+                        throw new SQLException("Some of these questions were deleted by someone else; reopen the quiz and try again");
+                    }
+                }
+            }
+
+            if (!changes.inserted.isEmpty()) {
+                insertQuestions(connection, quizId, changes.inserted);
+            }
+
+            if (!changes.countingChanged.isEmpty()) {
+                try (PreparedStatement delete = connection
+                        .prepareStatement("DELETE FROM answer_counts WHERE question_id = ANY(?)");
+                        PreparedStatement insert = connection.prepareStatement(
+                                "INSERT INTO answer_counts (question_id, answer, slot, count) "
+                                        + "SELECT a.question_id, a.answer, a.response_id % " + ANSWER_COUNT_SLOTS + ", count(*) "
+                                        + "FROM response_answers a JOIN questions q ON q.question_id = a.question_id "
+                                        + "WHERE a.question_id = ANY(?) AND a.answer IS NOT NULL "
+                                        + "AND q.question_type IN ('True/False', 'Multiple Choice') "
+                                        + "GROUP BY a.question_id, a.answer, a.response_id % " + ANSWER_COUNT_SLOTS)) {
+                    delete.setArray(1, countingChanged);
+                    delete.executeUpdate();
+                    insert.setArray(1, countingChanged);
+                    insert.executeUpdate();
+                }
+            }
+
+            // Grading only ever revisits graded questions, so answers to questions that stopped being
+            // graded (or were deleted) are taken out of the scores here
+            if (!changes.gradingLost.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "UPDATE response_answers SET is_correct = NULL WHERE question_id = ANY(?) AND is_correct IS NOT NULL")) {
+                    statement.setArray(1, connection.createArrayOf("integer", changes.gradingLost.toArray()));
+                    statement.executeUpdate();
+                }
+            }
+            if (!changes.gradingLost.isEmpty() || changes.gradedQuestionDeleted) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "UPDATE responses r SET score = (SELECT count(*) FROM response_answers a "
+                                + "WHERE a.response_id = r.response_id AND a.is_correct), "
+                                + "max_score = (SELECT count(*) FROM questions WHERE quiz_id = r.quiz_id "
+                                + "AND question_type IN ('True/False', 'Multiple Choice') AND correct_answer IS NOT NULL) "
+                                + "WHERE r.quiz_id = ? AND r.score IS NOT NULL")) {
+                    statement.setInt(1, quizId);
+                    statement.executeUpdate();
+                }
+            }
+            return null;
+        });
+        quizCache.invalidate(quizId);
+    }
+
+    // Call after changing quizzes outside saveQuiz/deleteQuiz, e.g. after a bulk import
+    public void invalidateQuizSnapshots(List<Integer> quizIds) {
+        for (int quizId : quizIds) {
+            quizCache.invalidate(quizId);
+        }
+    }
+
+    // Delete a quiz with its questions and responses, and drop it from the snapshot cache
+    public int deleteQuiz(int quizId) throws SQLException {
+        int deleted = inTransaction("deleteQuiz", connection -> {
+            try (PreparedStatement responses = connection.prepareStatement("DELETE FROM responses WHERE quiz_id = ?");
+                    PreparedStatement questions = connection.prepareStatement("DELETE FROM questions WHERE quiz_id = ?");
+                    PreparedStatement quiz = connection.prepareStatement("DELETE FROM quizzes WHERE quiz_id = ?")) {
+                responses.setInt(1, quizId);
+                responses.executeUpdate();
+                questions.setInt(1, quizId);
+                questions.executeUpdate();
+                quiz.setInt(1, quizId);
+                return quiz.executeUpdate();
+            }
+        });
+        quizCache.invalidate(quizId);
+        return deleted;
+    }
+
+    // One page of quizzes in quiz_id order, starting after afterQuizId (keyset pagination). offset
+    // is only used to jump ahead of the last known key. An empty prefix matches every quiz; otherwise
+    // titles are matched case-insensitively, using the quizzes_title_prefix_idx index.
+    public List<QuizSummary> findQuizzes(String titlePrefix, int afterQuizId, int offset, int limit)
+            throws SQLException {
+        if (titlePrefix.isEmpty()) {
+            return queryForList(QUIZ_PAGE_SQL, QuizSummary::fromRow, afterQuizId, limit, offset);
+        }
+        return queryForList(
+                "SELECT quiz_id, title FROM quizzes WHERE quiz_id > ? AND lower(title) LIKE ? ORDER BY quiz_id LIMIT ? OFFSET ?",
+                QuizSummary::fromRow, afterQuizId, likePrefix(titlePrefix), limit, offset);
+    }
+
+    public int countQuizzes(String titlePrefix) throws SQLException {
+        if (titlePrefix.isEmpty()) {
+            return query("SELECT count(*) FROM quizzes", rs -> rs.next() ? rs.getInt(1) : 0);
+        }
+        return query("SELECT count(*) FROM quizzes WHERE lower(title) LIKE ?", rs -> rs.next() ? rs.getInt(1) : 0,
+                likePrefix(titlePrefix));
+    }
+
+    // LIKE pattern matching titles that start with the prefix; wildcards typed by the user are literal
+    private static String likePrefix(String prefix) {
+        return prefix.toLowerCase(java.util.Locale.ROOT).replace("\\", "\\\\").replace("%", "\\%").replace("_",
+                "\\_") + "%";
+    }
+
+    // Includes submissions still waiting in the journal
+    public boolean hasAttended(int userId, int quizId) throws SQLException {
+        if (hasPendingSubmission(userId, quizId)) {
+            return true;
+        }
+        return query("SELECT 1 FROM responses WHERE user_id = ? AND quiz_id = ?", ResultSet::next, userId, quizId);
+    }
+
+    // Shared, read-only view of a quiz; repeated calls for the same quiz don't touch the database.
+    // Returns null if the quiz doesn't exist.
+    public QuizSnapshot getQuizSnapshot(int quizId) throws SQLException {
+        return quizCache.get(quizId);
+    }
+
+    private QuizSnapshot loadQuizSnapshot(int quizId) throws SQLException {
+        return withStatement("SELECT z.title, q.question_id, q.question_text, q.question_type, q.options "
+                + "FROM quizzes z LEFT JOIN questions q ON q.quiz_id = z.quiz_id WHERE z.quiz_id = ? ORDER BY q.position, q.question_id",
+                new Object[] { quizId }, (statement, sample) -> {
+                    String title = null;
+                    List<Question> questions = new ArrayList<>();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            sample.rows++;
+                            title = rs.getString("title");
+                            int questionId = rs.getInt("question_id");
+                            if (!rs.wasNull()) {
+                                questions.add(new Question(questionId, rs.getString("question_text"),
+                                        rs.getString("question_type"), rs.getString("options")));
+                            }
+                        }
+                    }
+                    return title == null ? null : new QuizSnapshot(quizId, title, questions);
+                });
+    }
+
+    // Store a student's answers, one response_answers row per question, in one transaction.
+    // Answers for question ids that don't belong to the quiz are ignored.
+    public int submitResponses(int userId, int quizId, Map<Integer, String> answers) throws SQLException {
+        return inTransaction("submitResponses",
+                connection -> insertResponse(connection, new Submission(userId, quizId, answers), false));
+    }
+
+    // True while the student's submission is in the journal but not yet in the database
+    public boolean hasPendingSubmission(int userId, int quizId) {
+        return submissionWriter != null && submissionWriter.isPending(userId, quizId);
+    }
+
+    // Same, but returns as soon as the submission is in the local journal; the database write
+    // happens in the background (see SubmissionWriter). Falls back to submitResponses() when there
+    // is no journal or it is full. Returns true if the submission was journaled.
+    public boolean submitResponsesDurably(int userId, int quizId, Map<Integer, String> answers) throws SQLException {
+        if (submissionWriter != null) {
+            if (submissionWriter.isPending(userId, quizId)) {
+                throw new SQLException("Responses to this quiz were already submitted", "23505");
+            }
+            try {
+                submissionWriter.submit(new Submission(userId, quizId, answers));
+                return true;
+            } catch (java.io.IOException e) {
+                System.err.println("Could not journal submission, writing it directly: " + e.getMessage());
+            }
+        }
+        submitResponses(userId, quizId, answers);
+        return false;
+    }
+
+    // Write journaled submissions in one transaction; ones whose response already exists are skipped
+    void insertSubmissions(List<SubmissionJournal.Record> records) throws SQLException {
+        inTransaction("insertSubmissions", connection -> {
+            for (SubmissionJournal.Record record : records) {
+                insertResponse(connection, record.submission, true);
+            }
+            return null;
+        });
+    }
+
+    // Returns the new response id, or null if skipIfExists and the student already has a response
+    private Integer insertResponse(Connection connection, Submission submission, boolean skipIfExists)
+            throws SQLException {
+        int userId = submission.userId;
+        int quizId = submission.quizId;
+        Map<Integer, String> answers = submission.answers;
+        int responseId;
+        try (PreparedStatement responseStatement = connection.prepareStatement(
+                "INSERT INTO responses (user_id, quiz_id) VALUES (?, ?) "
+                        + (skipIfExists ? "ON CONFLICT (user_id, quiz_id) DO NOTHING " : "") + "RETURNING response_id")) {
+            responseStatement.setInt(1, userId);
+            responseStatement.setInt(2, quizId);
+            try (ResultSet rs = responseStatement.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                responseId = rs.getInt("response_id");
+            }
+        }
+
+        try (PreparedStatement answerStatement = connection.prepareStatement(
+                "INSERT INTO response_answers (response_id, question_id, answer) "
+                        + "SELECT ?, question_id, ? FROM questions WHERE question_id = ? AND quiz_id = ?")) {
+            for (Map.Entry<Integer, String> answer : answers.entrySet()) {
+                answerStatement.setInt(1, responseId);
+                answerStatement.setString(2, answer.getValue());
+                answerStatement.setInt(3, answer.getKey());
+                answerStatement.setInt(4, quizId);
+                answerStatement.addBatch();
+            }
+            answerStatement.executeBatch();
+        }
+
+        // Count the answers in this response's slot; rows are locked in key order to avoid deadlocks
+        try (PreparedStatement countStatement = connection.prepareStatement(
+                "INSERT INTO answer_counts (question_id, answer, slot, count) "
+                        + "SELECT a.question_id, a.answer, ?, 1 FROM response_answers a "
+                        + "JOIN questions q ON q.question_id = a.question_id "
+                        + "WHERE a.response_id = ? AND a.answer IS NOT NULL "
+                        + "AND q.question_type IN ('True/False', 'Multiple Choice') ORDER BY a.question_id, a.answer "
+                        + "ON CONFLICT (question_id, answer, slot) DO UPDATE SET count = answer_counts.count + 1")) {
+            countStatement.setInt(1, responseId % ANSWER_COUNT_SLOTS);
+            countStatement.setInt(2, responseId);
+            countStatement.executeUpdate();
+        }
+        return responseId;
+    }
+
+    // Delete a student's response to a quiz (they can then take it again), taking its answers back
+    // out of answer_counts in the same transaction
+    public int deleteResponse(int quizId, int userId) throws SQLException {
+        return inTransaction("deleteResponse", connection -> {
+            // Lock the counters in the same (question_id, answer, slot) order submissions upsert them
+            // in; the UPDATE below would take them in join order and could deadlock with a submission
+            try (PreparedStatement lockStatement = connection.prepareStatement(
+                    "SELECT 1 FROM answer_counts c WHERE (c.question_id, c.answer, c.slot) IN ("
+                            + "SELECT a.question_id, a.answer, r.response_id % " + ANSWER_COUNT_SLOTS + " "
+                            + "FROM responses r JOIN response_answers a ON a.response_id = r.response_id "
+                            + "WHERE r.quiz_id = ? AND r.user_id = ?) "
+                            + "ORDER BY c.question_id, c.answer, c.slot FOR UPDATE");
+                    PreparedStatement countStatement = connection.prepareStatement(
+                    "UPDATE answer_counts c SET count = c.count - 1 FROM responses r "
+                            + "JOIN response_answers a ON a.response_id = r.response_id "
+                            + "JOIN questions q ON q.question_id = a.question_id "
+                            + "WHERE r.quiz_id = ? AND r.user_id = ? "
+                            + "AND q.question_type IN ('True/False', 'Multiple Choice') "
+                            + "AND c.question_id = a.question_id AND c.answer = a.answer "
+                            + "AND c.slot = r.response_id % " + ANSWER_COUNT_SLOTS);
+                    PreparedStatement deleteStatement = connection
+                            .prepareStatement("DELETE FROM responses WHERE quiz_id = ? AND user_id = ?")) {
+                lockStatement.setInt(1, quizId);
+                lockStatement.setInt(2, userId);
+                lockStatement.executeQuery().close();
+                countStatement.setInt(1, quizId);
+                countStatement.setInt(2, userId);
+                countStatement.executeUpdate();
+                deleteStatement.setInt(1, quizId);
+                deleteStatement.setInt(2, userId);
+                return deleteStatement.executeUpdate();
+            }
+        });
+    }
+
+    // How many responses picked each answer, per True/False and Multiple Choice question of the
+    // quiz: question_id -> answer -> count. Reads answer_counts only, so the cost depends on the
+    // number of questions and options, not on the number of responses.
+    public Map<Integer, Map<String, Integer>> getAnswerDistribution(int quizId) throws SQLException {
+        return withStatement("SELECT c.question_id, c.answer, sum(c.count) AS count FROM answer_counts c "
+                + "JOIN questions q ON q.question_id = c.question_id WHERE q.quiz_id = ? "
+                + "GROUP BY c.question_id, c.answer", new Object[] { quizId }, (statement, sample) -> {
+                    Map<Integer, Map<String, Integer>> distribution = new HashMap<>();
+                    try (ResultSet rs = statement.executeQuery()) {
+                        while (rs.next()) {
+                            sample.rows++;
+                            distribution.computeIfAbsent(rs.getInt("question_id"), id -> new HashMap<>())
+                                    .put(rs.getString("answer"), rs.getInt("count"));
+                        }
+                    }
+                    return distribution;
+                });
+    }
+
+    // Recompute answer_counts from response_answers, for one quiz or (quizId null) every quiz.
+    // The questions are split into ranges rebuilt in parallel, each in its own transaction. A range
+    // locks its questions first, which waits for submissions in progress and holds new ones back
+    // until the range is done, so no answer is counted twice or missed. Returns the question count.
+    public int rebuildAnswerCounts(Integer quizId) throws SQLException {
+        List<Integer> questionIds = queryForList("SELECT question_id FROM questions "
+                + "WHERE question_type IN ('True/False', 'Multiple Choice') AND (?::integer IS NULL OR quiz_id = ?) "
+                + "ORDER BY question_id", rs -> rs.getInt("question_id"), quizId, quizId);
+        int rangeSize = Math.max(1, (questionIds.size() + ANSWER_COUNT_REBUILD_THREADS - 1) / ANSWER_COUNT_REBUILD_THREADS);
+        List<CompletableFuture<Integer>> ranges = new ArrayList<>();
+        for (int start = 0; start < questionIds.size(); start += rangeSize) {
+            Object[] range = questionIds.subList(start, Math.min(questionIds.size(), start + rangeSize)).toArray();
+            ranges.add(async.submit(() -> inTransaction("rebuildAnswerCounts", connection -> {
+                Array ids = connection.createArrayOf("integer", range);
+                try (PreparedStatement lock = connection.prepareStatement(
+                        "SELECT 1 FROM questions WHERE question_id = ANY(?) ORDER BY question_id FOR UPDATE");
+                        PreparedStatement delete = connection
+                                .prepareStatement("DELETE FROM answer_counts WHERE question_id = ANY(?)");
+                        PreparedStatement insert = connection.prepareStatement(
+                                "INSERT INTO answer_counts (question_id, answer, slot, count) "
+                                        + "SELECT question_id, answer, response_id % " + ANSWER_COUNT_SLOTS + ", count(*) "
+                                        + "FROM response_answers WHERE question_id = ANY(?) AND answer IS NOT NULL "
+                                        + "GROUP BY question_id, answer, response_id % " + ANSWER_COUNT_SLOTS)) {
+                    lock.setArray(1, ids);
+                    lock.executeQuery().close();
+                    delete.setArray(1, ids);
+                    delete.executeUpdate();
+                    insert.setArray(1, ids);
+                    insert.executeUpdate();
+                }
+                return range.length;
+            })));
+        }
+        int rebuilt = 0;
+        try {
+            for (CompletableFuture<Integer> range : ranges) {
+                rebuilt += range.join();
+            }
+        } catch (java.util.concurrent.CompletionException e) {
+            Throwable cause = AsyncDatabase.unwrap(e);
+            throw cause instanceof SQLException ? (SQLException) cause : new SQLException(cause);
+        } finally {
+            for (CompletableFuture<Integer> range : ranges) {
+                range.cancel(true); // Only affects ranges still running after a failure
+            }
+        }
+        return rebuilt;
+    }
+
+    // Generate token
+    private String generateToken() {
+        return java.util.UUID.randomUUID().toString();
+    }
+
+    private static class SessionRow {
+        final User user;
+        final Timestamp expiryTime;
+
+        SessionRow(User user, Timestamp expiryTime) {
+            this.user = user;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
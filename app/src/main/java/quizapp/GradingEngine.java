@@ -0,0 +1,279 @@
+package quizapp;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// GradingEngine Class
+// Scores every True/False and Multiple Choice answer of a quiz against the answer key in one
+// pass. Answers are streamed through a server-side cursor in chunks, each chunk is scored in
+// parallel with fork/join, and only answers whose correctness changed are written back.
+// Grading is incremental: a question is re-scored only when its key_version has moved past the
+// version it was last graded at, or when it has answers that were never graded.
+class GradingEngine {
+    private static final int CHUNK_SIZE = Integer.getInteger("quizapp.grading.chunkSize", 50_000);
+    private static final int FETCH_SIZE = 10_000;
+    private static final int SCORE_THRESHOLD = 4_096;
+
+    private final DatabaseManager databaseManager;
+    private final ForkJoinPool forkJoinPool;
+
+    public GradingEngine(DatabaseManager databaseManager) {
+        this(databaseManager, ForkJoinPool.commonPool());
+    }
+
+    public GradingEngine(DatabaseManager databaseManager, ForkJoinPool forkJoinPool) {
+        this.databaseManager = databaseManager;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public Result gradeQuiz(int quizId) throws SQLException {
+        long start = System.nanoTime();
+        // REPEATABLE READ: every statement sees the responses that existed when grading started.
+        // A response submitted meanwhile is left ungraded for the next run, rather than being
+        // stamped 0 by the max_score update at the end.
+        return databaseManager.inTransaction("gradeQuiz", Connection.TRANSACTION_REPEATABLE_READ, connection -> {
+            // Key versions are captured up front; if a key changes while we grade, the question
+            // is simply graded again next time
+            Map<Integer, Integer> keyVersions = new HashMap<>();
+            int gradableQuestions = 0;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT question_id, key_version, graded_key_version FROM questions "
+                            + "WHERE quiz_id = ? AND question_type IN ('True/False', 'Multiple Choice') "
+                            + "AND correct_answer IS NOT NULL")) {
+                statement.setInt(1, quizId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        gradableQuestions++;
+                        int keyVersion = rs.getInt("key_version");
+                        int gradedVersion = rs.getInt("graded_key_version");
+                        if (rs.wasNull() || gradedVersion != keyVersion) {
+                            keyVersions.put(rs.getInt("question_id"), keyVersion);
+                        }
+                    }
+                }
+            }
+
+            Chunk chunk = new Chunk(CHUNK_SIZE);
+            BitSet changedResponses = new BitSet();
+            long scored = 0;
+            long changed = 0;
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT a.response_id, a.question_id, a.answer, a.is_correct, q.correct_answer "
+                            + "FROM response_answers a JOIN questions q ON q.question_id = a.question_id "
+                            + "WHERE q.quiz_id = ? AND q.question_type IN ('True/False', 'Multiple Choice') "
+                            + "AND q.correct_answer IS NOT NULL "
+                            + "AND (q.graded_key_version IS DISTINCT FROM q.key_version OR a.is_correct IS NULL)")) {
+                // With autocommit off PgJDBC uses a cursor and holds only FETCH_SIZE rows at a time
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setInt(1, quizId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        chunk.add(rs.getInt(1), rs.getInt(2), rs.getString(3), rs.getBoolean(4), rs.wasNull(),
+                                rs.getString(5));
+                        if (chunk.size == chunk.capacity) {
+                            scored += chunk.size;
+                            changed += scoreAndWrite(connection, chunk, changedResponses);
+                            chunk.clear();
+                        }
+                    }
+                }
+            }
+            scored += chunk.size;
+            changed += scoreAndWrite(connection, chunk, changedResponses);
+
+            int responsesUpdated = updateScores(connection, quizId, changedResponses, gradableQuestions);
+
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE questions SET graded_key_version = ? WHERE question_id = ?")) {
+                for (Map.Entry<Integer, Integer> entry : keyVersions.entrySet()) {
+                    statement.setInt(1, entry.getValue());
+                    statement.setInt(2, entry.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            return new Result(scored, changed, responsesUpdated, (System.nanoTime() - start) / 1_000_000);
+        });
+    }
+
+    // Score the chunk in parallel, then write back only the answers whose result changed
+    private long scoreAndWrite(Connection connection, Chunk chunk, BitSet changedResponses) throws SQLException {
+        if (chunk.size == 0) {
+            return 0;
+        }
+        boolean[] correct = new boolean[chunk.size];
+        forkJoinPool.invoke(new ScoreTask(chunk, correct, 0, chunk.size));
+
+        List<Integer> changedRows = new ArrayList<>();
+        for (int i = 0; i < chunk.size; i++) {
+            if (chunk.previousNull[i] || chunk.previous[i] != correct[i]) {
+                changedRows.add(i);
+            }
+        }
+        if (changedRows.isEmpty()) {
+            return 0;
+        }
+
+        Integer[] responseIds = new Integer[changedRows.size()];
+        Integer[] questionIds = new Integer[changedRows.size()];
+        Boolean[] values = new Boolean[changedRows.size()];
+        for (int j = 0; j < changedRows.size(); j++) {
+            int i = changedRows.get(j);
+            responseIds[j] = chunk.responseIds[i];
+            questionIds[j] = chunk.questionIds[i];
+            values[j] = correct[i];
+            changedResponses.set(chunk.responseIds[i]);
+        }
+
+        // One statement per chunk instead of one UPDATE per answer
+        try (PreparedStatement statement = connection.prepareStatement(
+                "UPDATE response_answers a SET is_correct = v.is_correct "
+                        + "FROM unnest(?::integer[], ?::integer[], ?::boolean[]) AS v(response_id, question_id, is_correct) "
+                        + "WHERE a.response_id = v.response_id AND a.question_id = v.question_id")) {
+            statement.setArray(1, connection.createArrayOf("integer", responseIds));
+            statement.setArray(2, connection.createArrayOf("integer", questionIds));
+            statement.setArray(3, connection.createArrayOf("boolean", values));
+            statement.executeUpdate();
+        }
+        return changedRows.size();
+    }
+
+    // Recompute score for responses that had at least one answer change, then bring max_score up to
+    // date on the rest: adding a graded question, or keying one nobody answered, changes no answer
+    private int updateScores(Connection connection, int quizId, BitSet changedResponses, int gradableQuestions)
+            throws SQLException {
+        int updated = 0;
+        int next = changedResponses.nextSetBit(0);
+        while (next >= 0) {
+            List<Integer> batch = new ArrayList<>();
+            while (next >= 0 && batch.size() < CHUNK_SIZE) {
+                batch.add(next);
+                next = changedResponses.nextSetBit(next + 1);
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE responses r SET score = s.correct, max_score = ? "
+                            + "FROM (SELECT response_id, count(*) FILTER (WHERE is_correct) AS correct "
+                            + "FROM response_answers WHERE response_id = ANY(?) GROUP BY response_id) s "
+                            + "WHERE r.response_id = s.response_id AND r.quiz_id = ?")) {
+                Array ids = connection.createArrayOf("integer", batch.toArray());
+                statement.setInt(1, gradableQuestions);
+                statement.setArray(2, ids);
+                statement.setInt(3, quizId);
+                updated += statement.executeUpdate();
+            }
+        }
+        if (gradableQuestions > 0) {
+            // A response with no graded answers has scored nothing
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "UPDATE responses SET score = coalesce(score, 0), max_score = ? "
+                            + "WHERE quiz_id = ? AND max_score IS DISTINCT FROM ?")) {
+                statement.setInt(1, gradableQuestions);
+                statement.setInt(2, quizId);
+                statement.setInt(3, gradableQuestions);
+                updated += statement.executeUpdate();
+            }
+        }
+        return updated;
+    }
+
+    static boolean isCorrect(String answer, String key) {
+        return answer != null && key != null && answer.trim().equalsIgnoreCase(key.trim());
+    }
+
+    // Chunk Class (column-wise buffer of streamed answers)
+    private static class Chunk {
+        final int capacity;
+        final int[] responseIds;
+        final int[] questionIds;
+        final String[] answers;
+        final String[] keys;
+        final boolean[] previous;
+        final boolean[] previousNull;
+        int size;
+
+        Chunk(int capacity) {
+            this.capacity = capacity;
+            responseIds = new int[capacity];
+            questionIds = new int[capacity];
+            answers = new String[capacity];
+            keys = new String[capacity];
+            previous = new boolean[capacity];
+            previousNull = new boolean[capacity];
+        }
+
+        void add(int responseId, int questionId, String answer, boolean wasCorrect, boolean wasNull, String key) {
+            responseIds[size] = responseId;
+            questionIds[size] = questionId;
+            answers[size] = answer;
+            previous[size] = wasCorrect;
+            previousNull[size] = wasNull;
+            keys[size] = key;
+            size++;
+        }
+
+        void clear() {
+            Arrays.fill(answers, 0, size, null);
+            Arrays.fill(keys, 0, size, null);
+            size = 0;
+        }
+    }
+
+    // ScoreTask Class
+    private static class ScoreTask extends RecursiveAction {
+        private final Chunk chunk;
+        private final boolean[] correct;
+        private final int from;
+        private final int to;
+
+        ScoreTask(Chunk chunk, boolean[] correct, int from, int to) {
+            this.chunk = chunk;
+            this.correct = correct;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SCORE_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    correct[i] = isCorrect(chunk.answers[i], chunk.keys[i]);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScoreTask(chunk, correct, from, middle), new ScoreTask(chunk, correct, middle, to));
+        }
+    }
+
+    // Result Class
+    static class Result {
+        final long answersScored;
+        final long answersChanged;
+        final int responsesUpdated;
+        final long elapsedMillis;
+
+        Result(long answersScored, long answersChanged, int responsesUpdated, long elapsedMillis) {
+            this.answersScored = answersScored;
+            this.answersChanged = answersChanged;
+            this.responsesUpdated = responsesUpdated;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "Scored " + answersScored + " answers (" + answersChanged + " changed), updated "
+                    + responsesUpdated + " scores in " + elapsedMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package quizapp;
+
+// InvalidPasswordException Class (User-defined Exception)
+class InvalidPasswordException extends Exception {
+    public InvalidPasswordException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package quizapp;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+// LegacyMd5PasswordHasher Class
+// Unsalted MD5 as 32 lowercase hex digits, the format used before PBKDF2. Kept only so
+// existing accounts can log in once and be rehashed; never chosen for new hashes.
+class LegacyMd5PasswordHasher implements PasswordHasher {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    });
+
+    @Override
+    public String hash(String password) {
+        byte[] digest = digest(password);
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    // Compares raw digest bytes in constant time instead of building and comparing hex strings
+    @Override
+    public boolean verify(String password, String storedHash) {
+        if (!canVerify(storedHash)) {
+            return false;
+        }
+        byte[] expected = new byte[16];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = (byte) ((Character.digit(storedHash.charAt(i * 2), 16) << 4)
+                    | Character.digit(storedHash.charAt(i * 2 + 1), 16));
+        }
+        return MessageDigest.isEqual(digest(password), expected);
+    }
+
+    @Override
+    public boolean canVerify(String storedHash) {
+        if (storedHash == null || storedHash.length() != 32) {
+            return false;
+        }
+        for (int i = 0; i < storedHash.length(); i++) {
+            if (Character.digit(storedHash.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        return true;
+    }
+
+    // Platform charset, as the original hashPassword used String.getBytes()
+    private static byte[] digest(String password) {
+        return MD5.get().digest(password.getBytes());
+    }
+}
@@ -0,0 +1,1652 @@
+package quizapp;
+
+import java.awt.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import javax.swing.table.DefaultTableModel;
+
+// Main Class
+public class Main {
+    // Set for the training run that builds the AppCDS archive (see commands.txt)
+    private static final boolean EXIT_WHEN_READY = Boolean.getBoolean("quizapp.startup.exitWhenReady");
+
+    public static void main(String[] args) throws Exception {
+        StartupTimings.mark("main");
+        if (args.length > 0 && args[0].equals("--server")) {
+            runServer();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--rebuild-answer-counts")) {
+            rebuildAnswerCounts(args.length > 1 ? Integer.valueOf(args[1]) : null);
+            return;
+        }
+        // The login window doesn't wait for the database: the manager (driver, connection pool,
+        // journal) is created on its own thread while the window is being shown
+        CompletableFuture<DatabaseManager> databaseManager = CompletableFuture.supplyAsync(DatabaseManager::new,
+                task -> new Thread(task, "startup").start());
+        CompletableFuture<Void> windowShown = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> {
+            // A headless training run still loads everything but the window
+            if (!(EXIT_WHEN_READY && GraphicsEnvironment.isHeadless())) {
+                LoginGUI loginGUI = new LoginGUI(databaseManager);
+                loginGUI.setVisible(true);
+                StartupTimings.mark("login window shown");
+            }
+            windowShown.complete(null);
+        });
+        CompletableFuture.allOf(windowShown, databaseManager.thenCompose(DatabaseManager::ready))
+                .whenComplete((result, error) -> {
+                    System.out.println(StartupTimings.summary());
+                    if (EXIT_WHEN_READY) {
+                        System.exit(0);
+                    }
+                });
+    }
+
+    // Headless mode: serve quizzes over HTTP instead of opening the Swing UI
+    private static void runServer() throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int port = Integer.getInteger("quizapp.server.port", 8080);
+        int backlog = Integer.getInteger("quizapp.server.backlog", 4096);
+        DatabaseManager databaseManager = new DatabaseManager();
+        QuizServer server = new QuizServer(databaseManager, port, backlog);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            try {
+                databaseManager.close();
+            } catch (Exception e) {
+                System.err.println("Error closing database: " + e.getMessage());
+            }
+        }, "server-shutdown"));
+        server.start();
+        System.out.println("Quiz server listening on port " + server.getPort());
+    }
+
+    // Recompute the per-answer counters from the stored answers (all quizzes if quizId is null)
+    private static void rebuildAnswerCounts(Integer quizId) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        try (DatabaseManager databaseManager = new DatabaseManager()) {
+            long start = System.nanoTime();
+            int questions = databaseManager.rebuildAnswerCounts(quizId);
+            System.out.printf("Rebuilt answer counts for %d questions in %d ms%n", questions,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
+
+// LoginGUI Class
+class LoginGUI extends JFrame {
+    private JTextField usernameField;
+    private JPasswordField passwordField;
+    private JButton loginButton;
+    private JButton registerButton;
+    private JLabel statusLabel;
+    private DatabaseManager databaseManager;
+
+    public LoginGUI(DatabaseManager databaseManager) {
+        this(CompletableFuture.completedFuture(databaseManager));
+    }
+
+    // The window can be shown before the database manager exists; logging in and registering are
+    // enabled once it does
+    public LoginGUI(CompletableFuture<DatabaseManager> databaseManager) {
+        super("Login");
+
+        // Set up main panel
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+
+        // Create components
+        usernameField = new JTextField(15);
+        passwordField = new JPasswordField(15);
+        loginButton = new JButton("Login");
+        registerButton = new JButton("Register");
+        statusLabel = new JLabel(" ", SwingConstants.CENTER);
+        loginButton.setEnabled(false);
+        registerButton.setEnabled(false);
+
+        // Create input panel
+        JPanel inputPanel = new JPanel(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+
+        // Username Label and Field
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.anchor = GridBagConstraints.EAST;
+        gbc.insets = new Insets(5, 5, 5, 5);
+        inputPanel.add(new JLabel("Username:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 0;
+        gbc.anchor = GridBagConstraints.WEST;
+        inputPanel.add(usernameField, gbc);
+
+        // Password Label and Field
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        gbc.anchor = GridBagConstraints.EAST;
+        inputPanel.add(new JLabel("Password:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 1;
+        gbc.anchor = GridBagConstraints.WEST;
+        inputPanel.add(passwordField, gbc);
+
+        // Buttons panel
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        buttonPanel.add(loginButton);
+        buttonPanel.add(registerButton);
+
+        // Add components to main panel
+        mainPanel.add(statusLabel, BorderLayout.NORTH);
+        mainPanel.add(inputPanel, BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        // Add main panel to frame
+        setContentPane(mainPanel);
+
+        // Add action listeners
+        loginButton.addActionListener(e -> login());
+        registerButton.addActionListener(e -> openRegistration());
+
+        // Set default button
+        getRootPane().setDefaultButton(loginButton);
+
+        // Frame settings
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        pack(); // Adjust size based on components
+        setLocationRelativeTo(null); // Center on screen
+
+        if (databaseManager.isDone() && !databaseManager.isCompletedExceptionally()) {
+            setDatabaseManager(databaseManager.join()); // After logout: no need to wait a frame
+        } else {
+            statusLabel.setText("Connecting to the database...");
+            databaseManager.whenComplete((manager, error) -> SwingUtilities.invokeLater(() -> {
+                if (error == null) {
+                    setDatabaseManager(manager);
+                } else {
+                    statusLabel.setText("Could not start.");
+                    DatabaseManager.showErrorDialog(this, "Startup Error", AsyncDatabase.unwrap(error).getMessage());
+                }
+            }));
+        }
+    }
+
+    // Usable as soon as the manager exists (a login just waits for a connection); the status line
+    // says whether the connection is still being opened or failed
+    private void setDatabaseManager(DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+        loginButton.setEnabled(true);
+        registerButton.setEnabled(true);
+        CompletableFuture<Void> ready = databaseManager.ready();
+        if (ready.isDone()) {
+            statusLabel.setText(ready.isCompletedExceptionally() ? "Database unavailable." : " ");
+            return;
+        }
+        statusLabel.setText("Connecting to the database...");
+        ready.whenComplete((result, error) -> SwingUtilities.invokeLater(
+                () -> statusLabel.setText(error == null ? " " : "Database unavailable.")));
+    }
+
+    private void login() {
+        String username = usernameField.getText().trim();
+        String password = new String(passwordField.getPassword());
+
+        loginButton.setEnabled(false);
+        databaseManager.async().run(this, "Login Error", () -> {
+            String token = databaseManager.loginUser(username, password);
+            return new LoginResult(databaseManager.validateSession(token), token);
+        }, result -> {
+            // Close login window
+            dispose();
+            // Open main application GUI
+            new QuizAppGUI(result.user, result.token, databaseManager).display();
+        }).whenComplete((result, error) -> SwingUtilities.invokeLater(() -> loginButton.setEnabled(true)));
+    }
+
+    private static class LoginResult {
+        final User user;
+        final String token;
+
+        LoginResult(User user, String token) {
+            this.user = user;
+            this.token = token;
+        }
+    }
+
+    private void openRegistration() {
+        new RegistrationGUI(databaseManager).setVisible(true);
+    }
+}
+
+// RegistrationGUI Class
+class RegistrationGUI extends JFrame {
+    private JTextField nameField;
+    private JTextField usernameField;
+    private JPasswordField passwordField;
+    private JRadioButton teacherRadioButton;
+    private JRadioButton studentRadioButton;
+    private ButtonGroup roleGroup;
+    private JButton registerButton;
+    private DatabaseManager databaseManager;
+
+    public RegistrationGUI(DatabaseManager databaseManager) {
+        super("Register");
+        this.databaseManager = databaseManager;
+
+        // Set up main panel
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+
+        // Create components
+        nameField = new JTextField(15);
+        usernameField = new JTextField(15);
+        passwordField = new JPasswordField(15);
+        teacherRadioButton = new JRadioButton("Teacher");
+        studentRadioButton = new JRadioButton("Student");
+        roleGroup = new ButtonGroup();
+        roleGroup.add(teacherRadioButton);
+        roleGroup.add(studentRadioButton);
+        studentRadioButton.setSelected(true);
+        registerButton = new JButton("Register");
+
+        // Create input panel
+        JPanel inputPanel = new JPanel(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+
+        gbc.insets = new Insets(5, 5, 5, 5); // Add spacing between components
+
+        // Name Label and Field
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.anchor = GridBagConstraints.EAST;
+        inputPanel.add(new JLabel("Name:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 0;
+        gbc.anchor = GridBagConstraints.WEST;
+        inputPanel.add(nameField, gbc);
+
+        // Username Label and Field
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        gbc.anchor = GridBagConstraints.EAST;
+        inputPanel.add(new JLabel("Username:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 1;
+        gbc.anchor = GridBagConstraints.WEST;
+        inputPanel.add(usernameField, gbc);
+
+        // Password Label and Field
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.anchor = GridBagConstraints.EAST;
+        inputPanel.add(new JLabel("Password:"), gbc);
+
+        gbc.gridx = 1;
+        gbc.gridy = 2;
+        gbc.anchor = GridBagConstraints.WEST;
+        inputPanel.add(passwordField, gbc);
+
+        // Role Label and Radio Buttons
+        gbc.gridx = 0;
+        gbc.gridy = 3;
+        gbc.anchor = GridBagConstraints.EAST;
+        inputPanel.add(new JLabel("Role:"), gbc);
+
+        JPanel rolePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        rolePanel.add(teacherRadioButton);
+        rolePanel.add(studentRadioButton);
+
+        gbc.gridx = 1;
+        gbc.gridy = 3;
+        gbc.anchor = GridBagConstraints.WEST;
+        inputPanel.add(rolePanel, gbc);
+
+        // Add components to main panel
+        mainPanel.add(inputPanel, BorderLayout.CENTER);
+        mainPanel.add(registerButton, BorderLayout.SOUTH);
+
+        // Add action listener
+        registerButton.addActionListener(e -> register());
+
+        // Add main panel to frame
+        setContentPane(mainPanel);
+
+        // Frame settings
+        pack();
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+    }
+
+    private void register() {
+        String name = nameField.getText().trim();
+        String username = usernameField.getText().trim();
+        String password = new String(passwordField.getPassword());
+        String role = teacherRadioButton.isSelected() ? "teacher" : "student";
+
+        registerButton.setEnabled(false);
+        databaseManager.async().run(this, () -> {
+            databaseManager.registerUser(name, username, password, role);
+            return null;
+        }, result -> {
+            JOptionPane.showMessageDialog(this, "Registration successful. Please login.");
+            dispose();
+        }, error -> {
+            registerButton.setEnabled(true);
+            String title = error instanceof UserAlreadyExistsException ? "Registration Error" : "Database Error";
+            DatabaseManager.showErrorDialog(this, title, error.getMessage());
+        });
+    }
+}
+
+// QuizAppGUI Class (Implements QuizOperations Interface)
+class QuizAppGUI implements QuizOperations {
+    private JFrame mainFrame;
+    private JButton createQuizButton;
+    private JButton attendQuizButton;
+    private JButton viewResponsesButton;
+    private JButton logoutButton;
+    private JButton manageQuizzesButton;
+    private JButton provisionUsersButton;
+    private DatabaseManager databaseManager;
+    private User user;
+    private String token;
+
+    public QuizAppGUI(User user, String token, DatabaseManager databaseManager) {
+        this.user = user;
+        this.token = token;
+        this.databaseManager = databaseManager;
+
+        mainFrame = new JFrame("Quiz Management System");
+
+        // Set up main panel
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+
+        // Welcome Label
+        JLabel welcomeLabel = new JLabel("Welcome, " + user.name + " (" + user.role + ")", JLabel.CENTER);
+        welcomeLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        mainPanel.add(welcomeLabel, BorderLayout.NORTH);
+
+        // Buttons Panel
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.setLayout(new GridLayout(0, 1, 10, 10)); // Add spacing between buttons
+
+        createQuizButton = new JButton("Create Quiz");
+        attendQuizButton = new JButton("Attend Quiz");
+        viewResponsesButton = new JButton("View Responses");
+
+        buttonPanel.add(createQuizButton);
+        buttonPanel.add(attendQuizButton);
+        buttonPanel.add(viewResponsesButton);
+
+        // Adjust buttons based on user role
+        if ("teacher".equals(user.role)) {
+            createQuizButton.setEnabled(true);
+            viewResponsesButton.setEnabled(true);
+            attendQuizButton.setEnabled(false);
+            manageQuizzesButton = new JButton("Manage Quizzes");
+            buttonPanel.add(manageQuizzesButton);
+            manageQuizzesButton.addActionListener(e -> manageQuizzes());
+            provisionUsersButton = new JButton("Provision Users");
+            buttonPanel.add(provisionUsersButton);
+            provisionUsersButton.addActionListener(e -> provisionUsers());
+        } else if ("student".equals(user.role)) {
+            createQuizButton.setEnabled(false);
+            viewResponsesButton.setEnabled(false);
+            attendQuizButton.setEnabled(true);
+        }
+
+        mainPanel.add(buttonPanel, BorderLayout.CENTER);
+
+        // Logout Button
+        logoutButton = new JButton("Logout");
+        mainPanel.add(logoutButton, BorderLayout.SOUTH);
+
+        // Add action listeners
+        createQuizButton.addActionListener(e -> createQuiz());
+        attendQuizButton.addActionListener(e -> attendQuiz());
+        viewResponsesButton.addActionListener(e -> viewResponses());
+        logoutButton.addActionListener(e -> logout());
+
+        // Set up frame
+        mainFrame.setContentPane(mainPanel);
+        mainFrame.setSize(400, 300);
+        mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        mainFrame.setLocationRelativeTo(null);
+    }
+
+    public void display() {
+        mainFrame.setVisible(true);
+    }
+
+    private void logout() {
+        logoutButton.setEnabled(false);
+        databaseManager.async().run(mainFrame, () -> {
+            databaseManager.logoutUser(token);
+            return null;
+        }, result -> showLogin(), error -> {
+            DatabaseManager.showErrorDialog(mainFrame, "Logout Error", error.getMessage());
+            showLogin();
+        });
+    }
+
+    private void showLogin() {
+        mainFrame.dispose();
+        new LoginGUI(databaseManager).setVisible(true);
+    }
+
+    private void manageQuizzes() {
+        new QuizManager(databaseManager, user).setVisible(true);
+    }
+
+    // Create accounts from a roster CSV; the report (with generated passwords) is saved next to it
+    private void provisionUsers() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Rosters (*.csv)", "csv"));
+        if (chooser.showOpenDialog(mainFrame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.nio.file.Path roster = chooser.getSelectedFile().toPath();
+        java.nio.file.Path reportFile = roster.resolveSibling(
+                roster.getFileName().toString().replaceFirst("(?i)\\.csv$", "") + "-report.csv");
+
+        provisionUsersButton.setEnabled(false);
+        databaseManager.async().run(mainFrame, () -> {
+            UserProvisioner.Report report = new UserProvisioner(databaseManager).provision(roster);
+            report.write(reportFile);
+            return report;
+        }, report -> {
+            provisionUsersButton.setEnabled(true);
+            JOptionPane.showMessageDialog(mainFrame, report + "\nDetails and generated passwords: " + reportFile);
+        }, error -> {
+            provisionUsersButton.setEnabled(true);
+            DatabaseManager.showErrorDialog(mainFrame, "Provisioning Error", error.getMessage());
+        });
+    }
+
+    @Override
+    public void createQuiz() {
+        new QuizCreator(databaseManager, user).setVisible(true);
+    }
+
+    @Override
+    public void attendQuiz() {
+        new QuizAttender(databaseManager, user).setVisible(true);
+    }
+
+    @Override
+    public void viewResponses() {
+        new QuizResponseViewer(databaseManager, user).setVisible(true);
+    }
+}
+
+// QuizOperations Interface
+interface QuizOperations {
+    void createQuiz();
+
+    void attendQuiz();
+
+    void viewResponses();
+}
+
+// QuizCreator Class
+class QuizCreator extends JFrame {
+    private JTextField quizTitleField;
+    private JPanel questionsPanel;
+    private JButton addQuestionButton;
+    private JButton saveButton;
+    private DatabaseManager databaseManager;
+    private List<QuestionCreatorPanel> questionPanels;
+    private User user;
+    private QuizDraft editing; // The quiz as loaded, when editing rather than creating
+
+    public QuizCreator(DatabaseManager databaseManager, User user) {
+        super("Create Quiz");
+        this.databaseManager = databaseManager;
+        this.user = user;
+
+        // Set up main panel
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+
+        // Quiz Title Panel
+        JPanel titlePanel = new JPanel(new BorderLayout());
+        titlePanel.add(new JLabel("Quiz Title:"), BorderLayout.WEST);
+        quizTitleField = new JTextField(30);
+        titlePanel.add(quizTitleField, BorderLayout.CENTER);
+
+        // Questions Panel
+        questionsPanel = new JPanel();
+        questionsPanel.setLayout(new BoxLayout(questionsPanel, BoxLayout.Y_AXIS));
+        JScrollPane scrollPane = new JScrollPane(questionsPanel);
+
+        // Buttons Panel
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
+        addQuestionButton = new JButton("Add Question");
+        saveButton = new JButton("Save Quiz");
+        buttonPanel.add(addQuestionButton);
+        buttonPanel.add(saveButton);
+
+        // Add components to main panel
+        mainPanel.add(titlePanel, BorderLayout.NORTH);
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+
+        // Add action listeners
+        addQuestionButton.addActionListener(e -> addQuestionPanel());
+        saveButton.addActionListener(e -> saveQuiz());
+
+        // Initialize question panels list
+        questionPanels = new ArrayList<>();
+
+        // Add initial question panel
+        addQuestionPanel();
+
+        // Set up frame
+        setContentPane(mainPanel);
+        setSize(700, 500);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+    }
+
+    // Edit a saved quiz; saving writes only what changed (see QuizChanges)
+    public QuizCreator(DatabaseManager databaseManager, User user, QuizSummary quiz) {
+        this(databaseManager, user);
+        setTitle("Edit Quiz");
+        questionPanels.clear();
+        questionsPanel.removeAll();
+        quizTitleField.setText(quiz.title);
+        addQuestionButton.setEnabled(false);
+        saveButton.setEnabled(false);
+        questionsPanel.add(new JLabel("Loading questions..."));
+
+        databaseManager.async().run(this, "Database Error", () -> databaseManager.loadQuizForEdit(quiz.quizId),
+                draft -> {
+                    questionsPanel.removeAll();
+                    if (draft == null) {
+                        questionsPanel.add(new JLabel("This quiz no longer exists."));
+                    } else {
+                        editing = draft;
+                        quizTitleField.setText(draft.title);
+                        // Each panel is filled in before it joins the window and laid out once at the
+                        // end, so a long quiz doesn't pay for a layout pass per question
+                        for (QuestionDraft question : draft.questions) {
+                            QuestionCreatorPanel questionPanel = newQuestionPanel();
+                            questionPanel.load(question);
+                            questionsPanel.add(questionPanel);
+                        }
+                        addQuestionButton.setEnabled(true);
+                        saveButton.setEnabled(true);
+                    }
+                    questionsPanel.revalidate();
+                    questionsPanel.repaint();
+                });
+    }
+
+    public void display() {
+        setVisible(true);
+    }
+
+    private QuestionCreatorPanel addQuestionPanel() {
+        QuestionCreatorPanel questionPanel = newQuestionPanel();
+        questionsPanel.add(questionPanel);
+        questionsPanel.revalidate();
+        questionsPanel.repaint();
+        return questionPanel;
+    }
+
+    // Numbered and registered, but not yet added to questionsPanel
+    private QuestionCreatorPanel newQuestionPanel() {
+        int questionNumber = questionPanels.size() + 1;
+        QuestionCreatorPanel questionPanel = new QuestionCreatorPanel(this, questionNumber);
+        questionPanels.add(questionPanel);
+        return questionPanel;
+    }
+
+    // Move a question up (offset -1) or down (offset 1)
+    public void moveQuestionPanel(QuestionCreatorPanel questionPanel, int offset) {
+        int from = questionPanels.indexOf(questionPanel);
+        int to = from + offset;
+        if (to < 0 || to >= questionPanels.size()) {
+            return;
+        }
+        questionPanels.remove(from);
+        questionPanels.add(to, questionPanel);
+        questionsPanel.remove(questionPanel);
+        questionsPanel.add(questionPanel, to);
+        updateQuestionNumbers();
+        questionsPanel.revalidate();
+        questionsPanel.repaint();
+    }
+
+    public void removeQuestionPanel(QuestionCreatorPanel questionPanel) {
+        questionPanels.remove(questionPanel);
+        questionsPanel.remove(questionPanel);
+        updateQuestionNumbers();
+        questionsPanel.revalidate();
+        questionsPanel.repaint();
+    }
+
+    private void updateQuestionNumbers() {
+        int number = 1;
+        for (QuestionCreatorPanel qPanel : questionPanels) {
+            qPanel.updateQuestionNumber(number++);
+        }
+    }
+
+    private void saveQuiz() {
+        String title = quizTitleField.getText().trim();
+
+        if (title.isEmpty() || questionPanels.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Please enter quiz title and at least one question.", "Input Error",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        List<QuestionDraft> questions = new ArrayList<>();
+        for (QuestionCreatorPanel qPanel : questionPanels) {
+            QuestionDraft question = qPanel.getDraft();
+
+            if (question.questionText.isEmpty()) {
+                continue; // Skip empty questions
+            }
+
+            questions.add(question);
+        }
+
+        if (editing != null) {
+            saveChanges(QuizChanges.between(editing.title, editing.questions, title, questions));
+            return;
+        }
+
+        saveButton.setEnabled(false);
+        databaseManager.async().run(this, () -> databaseManager.saveQuiz(title, questions), quizId -> {
+            JOptionPane.showMessageDialog(this, "Quiz saved successfully.");
+            dispose();
+        }, error -> {
+            saveButton.setEnabled(true);
+            DatabaseManager.showErrorDialog(this, "Database Error", error.getMessage());
+        });
+    }
+
+    private void saveChanges(QuizChanges changes) {
+        if (changes.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "There are no changes to save.");
+            return;
+        }
+        if (!changes.deleted.isEmpty() && JOptionPane.showConfirmDialog(this,
+                "Deleting " + changes.deleted.size() + " question(s) also deletes the students' answers to them. Continue?",
+                "Confirm Delete", JOptionPane.YES_NO_OPTION) != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        saveButton.setEnabled(false);
+        databaseManager.async().run(this, () -> {
+            databaseManager.updateQuiz(editing.quizId, changes);
+            return null;
+        }, result -> {
+            JOptionPane.showMessageDialog(this, "Quiz saved successfully (" + changes + ").");
+            dispose();
+        }, error -> {
+            saveButton.setEnabled(true);
+            DatabaseManager.showErrorDialog(this, "Database Error", error.getMessage());
+        });
+    }
+}
+
+// QuestionCreatorPanel Class
+class QuestionCreatorPanel extends JPanel {
+    private JTextField questionField;
+    private JComboBox<String> questionTypeBox;
+    private JComboBox<String> answerKeyBox;
+    private JPanel optionsPanel;
+    private JButton addOptionButton;
+    private JButton removeQuestionButton;
+    private JButton moveUpButton;
+    private JButton moveDownButton;
+    private List<JTextField> optionFields;
+    private QuizCreator parent;
+    private Integer questionId; // Set when editing a saved question
+
+    public QuestionCreatorPanel(QuizCreator parent, int questionNumber) {
+        this.parent = parent;
+        setLayout(new BorderLayout(5, 5));
+        setBorder(BorderFactory.createTitledBorder("Question " + questionNumber));
+
+        // Question Text Panel
+        JPanel questionTextPanel = new JPanel(new BorderLayout());
+        questionTextPanel.add(new JLabel("Question:"), BorderLayout.WEST);
+        questionField = new JTextField(30);
+        questionTextPanel.add(questionField, BorderLayout.CENTER);
+
+        // Question Type Panel
+        JPanel questionTypePanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        questionTypePanel.add(new JLabel("Type:"));
+        questionTypeBox = new JComboBox<>(new String[] { "Short Answer", "True/False", "Multiple Choice" });
+        questionTypePanel.add(questionTypeBox);
+        questionTypePanel.add(new JLabel("Correct Answer:"));
+        answerKeyBox = new JComboBox<>();
+        answerKeyBox.setPrototypeDisplayValue("XXXXXXXXXXXXXXXX");
+        questionTypePanel.add(answerKeyBox);
+
+        // Options Panel
+        optionsPanel = new JPanel();
+        optionsPanel.setLayout(new BoxLayout(optionsPanel, BoxLayout.Y_AXIS));
+        JScrollPane optionsScrollPane = new JScrollPane(optionsPanel);
+        optionsScrollPane.setPreferredSize(new Dimension(400, 100));
+
+        // Buttons Panel
+        JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        addOptionButton = new JButton("Add Option");
+        removeQuestionButton = new JButton("Remove Question");
+        moveUpButton = new JButton("Move Up");
+        moveDownButton = new JButton("Move Down");
+        buttonsPanel.add(moveUpButton);
+        buttonsPanel.add(moveDownButton);
+        buttonsPanel.add(addOptionButton);
+        buttonsPanel.add(removeQuestionButton);
+
+        // Add components to main panel
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.add(questionTextPanel, BorderLayout.NORTH);
+        topPanel.add(questionTypePanel, BorderLayout.CENTER);
+
+        add(topPanel, BorderLayout.NORTH);
+        add(optionsScrollPane, BorderLayout.CENTER);
+        add(buttonsPanel, BorderLayout.SOUTH);
+
+        // Initialize option fields list
+        optionFields = new ArrayList<>();
+
+        // Add action listeners
+        questionTypeBox.addActionListener(e -> updateOptionFields());
+        addOptionButton.addActionListener(e -> addOptionField());
+        removeQuestionButton.addActionListener(e -> parent.removeQuestionPanel(this));
+        moveUpButton.addActionListener(e -> parent.moveQuestionPanel(this, -1));
+        moveDownButton.addActionListener(e -> parent.moveQuestionPanel(this, 1));
+        answerKeyBox.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+                refreshAnswerKeyChoices();
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
+
+        // Initialize options
+        updateOptionFields();
+    }
+
+    // Fill in a saved question for editing
+    public void load(QuestionDraft question) {
+        questionId = question.questionId;
+        questionField.setText(question.questionText);
+        questionTypeBox.setSelectedItem(question.questionType);
+        if ("Multiple Choice".equals(question.questionType)) {
+            optionsPanel.removeAll();
+            optionFields.clear();
+            for (String option : question.options) {
+                addOptionField().setText(option);
+            }
+        }
+        refreshAnswerKeyChoices();
+        answerKeyBox.setSelectedItem(question.correctAnswer);
+    }
+
+    public void updateQuestionNumber(int questionNumber) {
+        setBorder(BorderFactory.createTitledBorder("Question " + questionNumber));
+    }
+
+    private void updateOptionFields() {
+        optionsPanel.removeAll();
+        optionFields.clear();
+        String selectedType = (String) questionTypeBox.getSelectedItem();
+
+        if ("Multiple Choice".equals(selectedType)) {
+            addOptionButton.setEnabled(true);
+            addOptionField();
+        } else if ("True/False".equals(selectedType)) {
+            addOptionButton.setEnabled(false);
+            JTextField trueOption = new JTextField("True");
+            trueOption.setEditable(false);
+            optionFields.add(trueOption);
+            optionsPanel.add(trueOption);
+
+            JTextField falseOption = new JTextField("False");
+            falseOption.setEditable(false);
+            optionFields.add(falseOption);
+            optionsPanel.add(falseOption);
+        } else {
+            addOptionButton.setEnabled(false);
+        }
+
+        // Only True/False and Multiple Choice questions can be auto-graded
+        answerKeyBox.setEnabled(!optionFields.isEmpty());
+        refreshAnswerKeyChoices();
+
+        optionsPanel.revalidate();
+        optionsPanel.repaint();
+    }
+
+    // Offer the current option texts as answer key choices, keeping the selection if it still exists
+    private void refreshAnswerKeyChoices() {
+        Object selected = answerKeyBox.getSelectedItem();
+        answerKeyBox.removeAllItems();
+        for (String option : getOptions()) {
+            if (!option.trim().isEmpty()) {
+                answerKeyBox.addItem(option);
+            }
+        }
+        answerKeyBox.setSelectedItem(selected);
+    }
+
+    private JTextField addOptionField() {
+        JTextField optionField = new JTextField();
+        optionFields.add(optionField);
+        optionsPanel.add(optionField);
+        optionsPanel.revalidate();
+        optionsPanel.repaint();
+        return optionField;
+    }
+
+    public String getQuestionText() {
+        return questionField.getText();
+    }
+
+    public String getQuestionType() {
+        return (String) questionTypeBox.getSelectedItem();
+    }
+
+    public List<String> getOptions() {
+        List<String> options = new ArrayList<>();
+        for (JTextField field : optionFields) {
+            options.add(field.getText());
+        }
+        return options;
+    }
+
+    public QuestionDraft getDraft() {
+        return new QuestionDraft(questionId, getQuestionText().trim(), getQuestionType(), getOptions(),
+                getCorrectAnswer());
+    }
+
+    // Returns null when the question has no answer key (or the chosen option was since edited away)
+    public String getCorrectAnswer() {
+        Object selected = answerKeyBox.getSelectedItem();
+        return selected != null && getOptions().contains(selected) ? (String) selected : null;
+    }
+}
+
+// QuizAttender Class
+class QuizAttender extends JFrame {
+    private QuizPicker quizPicker;
+    private JPanel questionsPanel;
+    private JButton submitButton;
+    private DatabaseManager databaseManager;
+    private QuestionSheet questionSheet;
+    private User user;
+    private CompletableFuture<?> pendingLoad;
+    private QuizSnapshot bundle; // Quiz opened from a bundle file rather than picked
+
+    public QuizAttender(DatabaseManager databaseManager, User user) {
+        super("Attend Quiz");
+        this.databaseManager = databaseManager;
+        this.user = user;
+
+        // Set up main panel
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+
+        // Quiz Selection Panel (selecting a quiz, including the first one shown, loads its questions)
+        JPanel quizSelectPanel = new JPanel(new BorderLayout());
+        quizSelectPanel.add(new JLabel("Select Quiz:"), BorderLayout.WEST);
+        quizPicker = new QuizPicker(databaseManager);
+        quizSelectPanel.add(quizPicker, BorderLayout.CENTER);
+        JButton openBundleButton = new JButton("Open Bundle...");
+        quizSelectPanel.add(openBundleButton, BorderLayout.EAST);
+
+        // Questions Panel (holds a status message or the question sheet)
+        questionsPanel = new JPanel(new BorderLayout());
+
+        // Submit Button
+        submitButton = new JButton("Submit Responses");
+
+        // Add components to main panel
+        mainPanel.add(quizSelectPanel, BorderLayout.NORTH);
+        mainPanel.add(questionsPanel, BorderLayout.CENTER);
+        mainPanel.add(submitButton, BorderLayout.SOUTH);
+
+        // Add action listeners
+        quizPicker.addQuizSelectionListener(quiz -> loadQuestions());
+        openBundleButton.addActionListener(e -> openBundle());
+        submitButton.addActionListener(e -> submitResponses());
+
+        submitButton.setEnabled(false);
+
+        // Set up frame
+        setContentPane(mainPanel);
+        setSize(700, 500);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+    }
+
+    public void display() {
+        setVisible(true);
+    }
+
+    @Override
+    public void dispose() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true);
+        }
+        super.dispose();
+    }
+
+    private void loadQuestions() {
+        // A newer selection supersedes any load still in flight
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true);
+        }
+        bundle = null;
+        setTitle("Attend Quiz");
+        questionsPanel.removeAll();
+        questionSheet = null;
+        submitButton.setEnabled(false);
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+        if (selectedQuiz == null) {
+            questionsPanel.revalidate();
+            questionsPanel.repaint();
+            return;
+        }
+
+        int quizId = selectedQuiz.quizId;
+
+        questionsPanel.add(new JLabel("Loading questions..."), BorderLayout.NORTH);
+        questionsPanel.revalidate();
+        questionsPanel.repaint();
+        // Result is null when the student has already submitted responses
+        pendingLoad = databaseManager.async().run(this, "Database Error", () -> {
+            if (databaseManager.hasAttended(user.userId, quizId)) {
+                return null;
+            }
+            QuizSnapshot quiz = databaseManager.getQuizSnapshot(quizId);
+            return quiz == null ? List.<Question>of() : quiz.questions;
+        }, this::showQuestions);
+    }
+
+    // Take a quiz from a bundle exported by a teacher (see QuizBundle): no database access until
+    // submitting, and the submission goes to the local journal if the database can't be reached
+    private void openBundle() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Quiz bundles (*." + QuizBundle.EXTENSION + ")",
+                QuizBundle.EXTENSION));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        QuizSnapshot quiz;
+        try {
+            quiz = QuizBundle.read(chooser.getSelectedFile().toPath());
+        } catch (java.io.IOException e) {
+            DatabaseManager.showErrorDialog(this, "Bundle Error", e.getMessage());
+            return;
+        }
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true);
+        }
+        bundle = quiz;
+        setTitle("Attend Quiz - " + quiz.title + " (from bundle)");
+        // Only answers still waiting in the journal can be checked without the database; the
+        // database ignores a second submission for the same student anyway
+        showQuestions(databaseManager.hasPendingSubmission(user.userId, quiz.quizId) ? null : quiz.questions);
+    }
+
+    // Null questions means the student has already submitted responses
+    private void showQuestions(List<Question> questions) {
+        questionsPanel.removeAll();
+        questionSheet = null;
+        if (questions == null) {
+            questionsPanel.add(new JLabel("You have already attended this quiz."), BorderLayout.NORTH);
+        } else {
+            submitButton.setEnabled(true);
+            questionSheet = new QuestionSheet(questions);
+            questionsPanel.add(new JScrollPane(questionSheet), BorderLayout.CENTER);
+        }
+        questionsPanel.revalidate();
+        questionsPanel.repaint();
+    }
+
+    private void submitResponses() {
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+
+        if (bundle == null && selectedQuiz == null) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int quizId = bundle != null ? bundle.quizId : selectedQuiz.quizId;
+        Map<Integer, String> answers = questionSheet == null ? Map.of() : questionSheet.getAnswers();
+
+        submitButton.setEnabled(false);
+        // Returns once the answers are safe in the local journal, even if the database is busy
+        databaseManager.async().run(this, () -> databaseManager.submitResponsesDurably(user.userId, quizId, answers),
+                journaled -> {
+                    JOptionPane.showMessageDialog(this, "Responses submitted successfully.");
+                    dispose();
+                }, error -> {
+                    submitButton.setEnabled(true);
+                    DatabaseManager.showErrorDialog(this, "Database Error", error.getMessage());
+                });
+    }
+}
+
+// QuizResponseViewer Class
+class QuizResponseViewer extends JFrame {
+    private QuizPicker quizPicker;
+    private JComboBox<String> studentSelectBox;
+    private JTable responseTable;
+    private JButton refreshButton;
+    private JButton deleteResponseButton;
+    private JButton gradeQuizButton;
+    private JButton allResponsesButton;
+    private JButton exportButton;
+    private JButton distributionButton;
+    private DatabaseManager databaseManager;
+    private User user;
+    private CompletableFuture<?> pendingStudents;
+    private CompletableFuture<?> pendingResponses;
+    private CompletableFuture<Long> pendingExport;
+    private JLabel submissionsLabel;
+    // Live updates for the selected quiz; events arriving while the student list loads wait for it
+    private ResponseNotifier.Subscription responseSubscription;
+    private final Set<Integer> studentIds = new HashSet<>();
+    private final List<ResponseNotifier.ResponseEvent> deferredEvents = new ArrayList<>();
+    private boolean studentsLoading;
+
+    public QuizResponseViewer(DatabaseManager databaseManager, User user) {
+        super("View Responses");
+        this.databaseManager = databaseManager;
+        this.user = user;
+
+        // Set up main panel
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+
+        // Selection Panel
+        JPanel selectionPanel = new JPanel(new GridLayout(3, 2, 10, 10));
+        quizPicker = new QuizPicker(databaseManager);
+        studentSelectBox = new JComboBox<>();
+        submissionsLabel = new JLabel();
+
+        selectionPanel.add(new JLabel("Select Quiz:"));
+        selectionPanel.add(quizPicker);
+        selectionPanel.add(new JLabel("Select Student:"));
+        selectionPanel.add(studentSelectBox);
+        selectionPanel.add(new JLabel("Submissions (live):"));
+        selectionPanel.add(submissionsLabel);
+
+        // Response Table
+        responseTable = new JTable();
+        JScrollPane scrollPane = new JScrollPane(responseTable);
+
+        // Buttons Panel
+        refreshButton = new JButton("Refresh");
+        deleteResponseButton = new JButton("Delete Response");
+        gradeQuizButton = new JButton("Grade Quiz");
+        allResponsesButton = new JButton("All Responses");
+        exportButton = new JButton("Export...");
+        distributionButton = new JButton("Answer Distribution");
+
+        JPanel bottomPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        bottomPanel.add(distributionButton);
+        bottomPanel.add(exportButton);
+        bottomPanel.add(allResponsesButton);
+        bottomPanel.add(gradeQuizButton);
+        bottomPanel.add(refreshButton);
+        bottomPanel.add(deleteResponseButton);
+        mainPanel.add(bottomPanel, BorderLayout.SOUTH);
+
+        // Add components to main panel
+        mainPanel.add(selectionPanel, BorderLayout.NORTH);
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        // Add action listeners
+        // Selecting a quiz, including the first one shown, loads its students and responses
+        quizPicker.addQuizSelectionListener(quiz -> quizSelected(quiz));
+        studentSelectBox.addActionListener(e -> loadResponses());
+        refreshButton.addActionListener(e -> loadResponses());
+        deleteResponseButton.addActionListener(e -> deleteResponse());
+        gradeQuizButton.addActionListener(e -> gradeQuiz());
+        allResponsesButton.addActionListener(e -> showAllResponses());
+        exportButton.addActionListener(e -> exportResponses());
+        distributionButton.addActionListener(e -> showAnswerDistribution());
+
+        // Set up frame
+        setContentPane(mainPanel);
+        setSize(700, 500);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+    }
+
+    public void display() {
+        setVisible(true);
+    }
+
+    @Override
+    public void dispose() {
+        cancel(pendingStudents);
+        cancel(pendingResponses);
+        cancel(pendingExport);
+        if (responseSubscription != null) {
+            responseSubscription.close();
+        }
+        super.dispose();
+    }
+
+    private static void cancel(CompletableFuture<?> future) {
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    // Follow the quiz's submissions as they happen instead of waiting for Refresh
+    private void quizSelected(QuizSummary quiz) {
+        if (responseSubscription != null) {
+            responseSubscription.close();
+        }
+        studentSelectBox.removeAllItems();
+        studentIds.clear();
+        responseSubscription = databaseManager.getResponseNotifier().subscribe(quiz.quizId,
+                new ResponseNotifier.Listener() {
+                    @Override
+                    public void responsesChanged(List<ResponseNotifier.ResponseEvent> events) {
+                        if (studentsLoading) {
+                            deferredEvents.addAll(events);
+                        } else {
+                            applyResponseEvents(events);
+                        }
+                    }
+
+                    @Override
+                    public void resync() {
+                        loadStudents();
+                    }
+                });
+        loadStudents();
+    }
+
+    // Replaces the student list, keeping the selected student if they're still there
+    private void loadStudents() {
+        cancel(pendingStudents);
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+        if (selectedQuiz == null)
+            return;
+
+        int quizId = selectedQuiz.quizId;
+        studentsLoading = true;
+        deferredEvents.clear();
+
+        pendingStudents = databaseManager.async().run(this,
+                () -> databaseManager.queryForList(
+                        "SELECT DISTINCT u.user_id, u.name FROM responses r JOIN users u ON r.user_id = u.user_id WHERE r.quiz_id = ?",
+                        rs -> rs.getInt("user_id") + ": " + rs.getString("name"), quizId),
+                students -> {
+                    Object selected = studentSelectBox.getSelectedItem();
+                    studentSelectBox.removeAllItems();
+                    studentIds.clear();
+                    for (String student : students) {
+                        studentSelectBox.addItem(student);
+                        studentIds.add(Integer.parseInt(student.split(":")[0]));
+                    }
+                    if (selected != null && studentIds.contains(Integer.parseInt(((String) selected).split(":")[0]))) {
+                        studentSelectBox.setSelectedItem(selected);
+                    }
+                    // Changes committed while the query ran; applying them twice is harmless
+                    studentsLoading = false;
+                    applyResponseEvents(deferredEvents);
+                    deferredEvents.clear();
+                }, error -> {
+                    studentsLoading = false;
+                    deferredEvents.clear();
+                    DatabaseManager.showErrorDialog(this, "Database Error", error.getMessage());
+                });
+    }
+
+    private void applyResponseEvents(List<ResponseNotifier.ResponseEvent> events) {
+        for (ResponseNotifier.ResponseEvent event : events) {
+            if (event.inserted && studentIds.add(event.userId)) {
+                studentSelectBox.addItem(event.userId + ": " + event.name);
+            } else if (!event.inserted && studentIds.remove(event.userId)) {
+                for (int i = 0; i < studentSelectBox.getItemCount(); i++) {
+                    if (studentSelectBox.getItemAt(i).startsWith(event.userId + ":")) {
+                        studentSelectBox.removeItemAt(i);
+                        break;
+                    }
+                }
+            }
+        }
+        submissionsLabel.setText(String.valueOf(studentIds.size()));
+    }
+
+    private void loadResponses() {
+        cancel(pendingResponses);
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+        String selectedStudent = (String) studentSelectBox.getSelectedItem();
+        if (selectedQuiz == null || selectedStudent == null)
+            return;
+
+        int quizId = selectedQuiz.quizId;
+        int userId = Integer.parseInt(selectedStudent.split(":")[0]);
+
+        // The table model is built off the EDT; it isn't attached to the table until the callback
+        pendingResponses = databaseManager.async().run(this, "Database Error", () -> {
+            // Answers are matched to questions by question_id, so unanswered questions show as blank
+            List<Object[]> rows = databaseManager.queryForList(
+                    "SELECT q.question_text, a.answer, a.is_correct FROM responses r JOIN questions q ON q.quiz_id = r.quiz_id "
+                            + "LEFT JOIN response_answers a ON a.response_id = r.response_id AND a.question_id = q.question_id "
+                            + "WHERE r.quiz_id = ? AND r.user_id = ? ORDER BY q.position, q.question_id",
+                    rs -> {
+                        boolean correct = rs.getBoolean("is_correct");
+                        String graded = rs.wasNull() ? "" : correct ? "Yes" : "No";
+                        return new Object[] { rs.getString("question_text"), rs.getString("answer"), graded };
+                    }, quizId, userId);
+            DefaultTableModel model = new DefaultTableModel();
+            if (!rows.isEmpty()) {
+                model.addColumn("Question");
+                model.addColumn("Answer");
+                model.addColumn("Correct");
+
+                for (Object[] row : rows) {
+                    model.addRow(row);
+                }
+            } else {
+                model.addColumn("Message");
+                model.addRow(new Object[] { "No responses found for selected student." });
+            }
+            return model;
+        }, model -> {
+            responseTable.setModel(model);
+            responseTable.setRowHeight(30);
+        });
+    }
+
+    // Every student's answers for the quiz in one table
+    private void showAllResponses() {
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+        if (selectedQuiz == null) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        new ResponseMatrixFrame(databaseManager, selectedQuiz).display();
+    }
+
+    // How many students picked each option, from the answer_counts aggregates
+    private void showAnswerDistribution() {
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+        if (selectedQuiz == null) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int quizId = selectedQuiz.quizId;
+        databaseManager.async().run(this, "Database Error", () -> {
+            QuizSnapshot snapshot = databaseManager.getQuizSnapshot(quizId);
+            Map<Integer, Map<String, Integer>> distribution = databaseManager.getAnswerDistribution(quizId);
+            DefaultTableModel model = new DefaultTableModel(new Object[] { "Question", "Answer", "Count", "Share" }, 0);
+            if (snapshot == null) {
+                return model;
+            }
+            for (Question question : snapshot.questions) {
+                if (!"True/False".equals(question.questionType) && !"Multiple Choice".equals(question.questionType)) {
+                    continue;
+                }
+                // Options in quiz order, then anything else students sent in
+                Map<String, Integer> counts = new LinkedHashMap<>();
+                for (String option : question.options) {
+                    counts.put(option, 0);
+                }
+                counts.putAll(distribution.getOrDefault(question.questionId, Map.of()));
+                int total = counts.values().stream().mapToInt(Integer::intValue).sum();
+                for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                    String share = total == 0 ? "" : String.format("%.1f%%", 100.0 * count.getValue() / total);
+                    model.addRow(new Object[] { question.questionText, count.getKey(), count.getValue(), share });
+                }
+            }
+            return model;
+        }, model -> {
+            JTable table = new JTable(model);
+            JScrollPane scrollPane = new JScrollPane(table);
+            scrollPane.setPreferredSize(new Dimension(600, 400));
+            JOptionPane.showMessageDialog(this, scrollPane, "Answer Distribution - " + selectedQuiz.title,
+                    JOptionPane.PLAIN_MESSAGE);
+        });
+    }
+
+    // Write all of the quiz's answers to a file; while running, the button cancels the export
+    private void exportResponses() {
+        if (pendingExport != null) {
+            pendingExport.cancel(true);
+            return;
+        }
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+        if (selectedQuiz == null) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        FileNameExtensionFilter csvFilter = new FileNameExtensionFilter("CSV (*.csv)", "csv");
+        FileNameExtensionFilter columnarFilter = new FileNameExtensionFilter("Columnar (*.qzc)", "qzc");
+        chooser.addChoosableFileFilter(csvFilter);
+        chooser.addChoosableFileFilter(columnarFilter);
+        chooser.setFileFilter(csvFilter);
+        chooser.setSelectedFile(new java.io.File(selectedQuiz.title.replaceAll("[^A-Za-z0-9_-]+", "_") + ".csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        ResponseExporter.Format format = chooser.getFileFilter() == columnarFilter
+                || chooser.getSelectedFile().getName().endsWith(".qzc") ? ResponseExporter.Format.COLUMNAR
+                        : ResponseExporter.Format.CSV;
+        java.nio.file.Path target = chooser.getSelectedFile().toPath();
+        if (!target.getFileName().toString().endsWith("." + format.extension)) {
+            target = target.resolveSibling(target.getFileName() + "." + format.extension);
+        }
+
+        int quizId = selectedQuiz.quizId;
+        java.nio.file.Path exportTarget = target;
+        CompletableFuture<Long> export = databaseManager.async()
+                .submit(() -> new ResponseExporter(databaseManager).export(quizId, exportTarget, format));
+        pendingExport = export;
+        exportButton.setText("Cancel Export");
+        export.whenComplete((rows, error) -> SwingUtilities.invokeLater(() -> {
+            if (pendingExport == export) {
+                pendingExport = null;
+                exportButton.setText("Export...");
+            }
+            if (export.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                DatabaseManager.showErrorDialog(this, "Export Error", AsyncDatabase.unwrap(error).getMessage());
+            } else {
+                JOptionPane.showMessageDialog(this, "Exported " + rows + " answers to " + exportTarget + ".");
+            }
+        }));
+    }
+
+    private void gradeQuiz() {
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+        if (selectedQuiz == null) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int quizId = selectedQuiz.quizId;
+
+        gradeQuizButton.setEnabled(false);
+        databaseManager.async().run(this, () -> new GradingEngine(databaseManager).gradeQuiz(quizId), result -> {
+            gradeQuizButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, result.toString());
+            loadResponses();
+        }, error -> {
+            gradeQuizButton.setEnabled(true);
+            DatabaseManager.showErrorDialog(this, "Grading Error", error.getMessage());
+        });
+    }
+
+    private void deleteResponse() {
+        QuizSummary selectedQuiz = quizPicker.getSelectedQuiz();
+        String selectedStudent = (String) studentSelectBox.getSelectedItem();
+        if (selectedQuiz == null || selectedStudent == null) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz and a student.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        int quizId = selectedQuiz.quizId;
+        int userId = Integer.parseInt(selectedStudent.split(":")[0]);
+
+        int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete this student's response? The student will be able to reattend the quiz.", "Confirm Delete", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        databaseManager.async().run(this, "Database Error",
+                () -> databaseManager.deleteResponse(quizId, userId),
+                count -> {
+                    JOptionPane.showMessageDialog(this, "Response deleted successfully.");
+                    loadResponses();
+                });
+    }
+}
+
+// QuizManager Class
+class QuizManager extends JFrame {
+    private JTable quizTable;
+    private PagedQuizTableModel quizModel;
+    private JTextField searchField;
+    private JButton deleteQuizButton;
+    private JButton editQuizButton;
+    private JButton importButton;
+    private JButton exportBundleButton;
+    private DatabaseManager databaseManager;
+    private User user;
+
+    public QuizManager(DatabaseManager databaseManager, User user) {
+        super("Manage Quizzes");
+        this.databaseManager = databaseManager;
+        this.user = user;
+
+        // Set up main panel
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+
+        // Search Panel (filters by title prefix once the user pauses typing)
+        JPanel searchPanel = new JPanel(new BorderLayout(5, 5));
+        searchPanel.add(new JLabel("Search title:"), BorderLayout.WEST);
+        searchField = new JTextField();
+        searchPanel.add(searchField, BorderLayout.CENTER);
+        Timer searchTimer = new Timer(250,
+                e -> quizModel.setTitlePrefix(searchField.getText().trim()));
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+
+        // Quiz Table (rows are fetched page by page as they scroll into view)
+        quizModel = new PagedQuizTableModel(databaseManager);
+        quizTable = new JTable(quizModel);
+        quizTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        JScrollPane scrollPane = new JScrollPane(quizTable);
+
+        // Buttons Panel
+        deleteQuizButton = new JButton("Delete Selected Quiz");
+        editQuizButton = new JButton("Edit Selected Quiz");
+        importButton = new JButton("Import Questions...");
+        exportBundleButton = new JButton("Export Bundle...");
+        JPanel buttonsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonsPanel.add(importButton);
+        buttonsPanel.add(exportBundleButton);
+        buttonsPanel.add(editQuizButton);
+        buttonsPanel.add(deleteQuizButton);
+
+        // Add components to main panel
+        mainPanel.add(searchPanel, BorderLayout.NORTH);
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(buttonsPanel, BorderLayout.SOUTH);
+
+        // Add action listeners
+        deleteQuizButton.addActionListener(e -> deleteSelectedQuiz());
+        editQuizButton.addActionListener(e -> editSelectedQuiz());
+        importButton.addActionListener(e -> importQuestions());
+        exportBundleButton.addActionListener(e -> exportBundle());
+
+        // Load quizzes
+        loadQuizzes();
+
+        // Set up frame
+        setContentPane(mainPanel);
+        setSize(600, 400);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+    }
+
+    private void loadQuizzes() {
+        quizModel.reload();
+    }
+
+    // Bulk import from a CSV or JSON Lines question bank (see QuestionImporter for the format)
+    private void importQuestions() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Question banks (*.csv, *.jsonl)", "csv", "jsonl", "ndjson", "json"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        runImport(chooser.getSelectedFile().toPath(), false);
+    }
+
+    // Save the selected quiz as a bundle students can take without the database (see QuizBundle)
+    private void exportBundle() {
+        int selectedRow = quizTable.getSelectedRow();
+        QuizSummary quiz = selectedRow == -1 ? null : quizModel.getQuiz(selectedRow);
+        if (quiz == null) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz to export.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Quiz bundles (*." + QuizBundle.EXTENSION + ")",
+                QuizBundle.EXTENSION));
+        chooser.setSelectedFile(new java.io.File(quiz.title.replaceAll("[^A-Za-z0-9_-]+", "_") + "."
+                + QuizBundle.EXTENSION));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        java.nio.file.Path chosen = chooser.getSelectedFile().toPath();
+        java.nio.file.Path target = chosen.getFileName().toString().endsWith("." + QuizBundle.EXTENSION) ? chosen
+                : chosen.resolveSibling(chosen.getFileName() + "." + QuizBundle.EXTENSION);
+
+        exportBundleButton.setEnabled(false);
+        databaseManager.async().run(this, () -> {
+            QuizSnapshot snapshot = databaseManager.getQuizSnapshot(quiz.quizId);
+            if (snapshot == null) {
+                throw new SQLException("The quiz no longer exists");
+            }
+            QuizBundle.write(snapshot, target);
+            return snapshot.questions.size();
+        }, questionCount -> {
+            exportBundleButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Exported " + questionCount + " questions to " + target + ".");
+        }, error -> {
+            exportBundleButton.setEnabled(true);
+            DatabaseManager.showErrorDialog(this, "Export Error", error.getMessage());
+        });
+    }
+
+    private void runImport(java.nio.file.Path file, boolean skipInvalidRows) {
+        importButton.setEnabled(false);
+        databaseManager.async().run(this, () -> new QuestionImporter(databaseManager).importFile(file, skipInvalidRows),
+                result -> {
+                    importButton.setEnabled(true);
+                    if (result.imported || result.errorCount == 0) {
+                        JOptionPane.showMessageDialog(this, result.toString());
+                        loadQuizzes();
+                        return;
+                    }
+                    // Show the row errors; the valid rows can still be imported on their own
+                    JTextArea errors = new JTextArea(String.join("\n", result.errors)
+                            + (result.errorCount > result.errors.size() ? "\n..." : ""), 15, 60);
+                    errors.setEditable(false);
+                    Object[] message = { result.toString(), new JScrollPane(errors) };
+                    if (result.validRows > 0 && JOptionPane.showConfirmDialog(this, message,
+                            "Import " + result.validRows + " valid rows anyway?", JOptionPane.YES_NO_OPTION,
+                            JOptionPane.WARNING_MESSAGE) == JOptionPane.YES_OPTION) {
+                        runImport(file, true);
+                    } else if (result.validRows == 0) {
+                        JOptionPane.showMessageDialog(this, message, "Import Errors", JOptionPane.WARNING_MESSAGE);
+                    }
+                }, error -> {
+                    importButton.setEnabled(true);
+                    DatabaseManager.showErrorDialog(this, "Import Error", error.getMessage());
+                });
+    }
+
+    private void editSelectedQuiz() {
+        int selectedRow = quizTable.getSelectedRow();
+        QuizSummary quiz = selectedRow == -1 ? null : quizModel.getQuiz(selectedRow);
+        if (quiz == null) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz to edit.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        QuizCreator editor = new QuizCreator(databaseManager, user, quiz);
+        // The title may have changed
+        editor.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                loadQuizzes();
+            }
+        });
+        editor.display();
+    }
+
+    private void deleteSelectedQuiz() {
+        int selectedRow = quizTable.getSelectedRow();
+        if (selectedRow == -1) {
+            JOptionPane.showMessageDialog(this, "Please select a quiz to delete.", "Input Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        QuizSummary quiz = quizModel.getQuiz(selectedRow);
+        if (quiz == null) {
+            return; // Row is still loading
+        }
+        int quizId = quiz.quizId;
+        String quizTitle = quiz.title;
+
+        int confirm = JOptionPane.showConfirmDialog(this, "Are you sure you want to delete quiz \"" + quizTitle + "\"?", "Confirm Delete", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        deleteQuizButton.setEnabled(false);
+        databaseManager.async().run(this, () -> databaseManager.deleteQuiz(quizId), count -> {
+            deleteQuizButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this, "Quiz deleted successfully.");
+            loadQuizzes();
+        }, error -> {
+            deleteQuizButton.setEnabled(true);
+            DatabaseManager.showErrorDialog(this, "Database Error", error.getMessage());
+        });
+    }
+}
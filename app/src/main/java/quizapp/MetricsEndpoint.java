@@ -0,0 +1,42 @@
+package quizapp;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+// MetricsEndpoint Class
+// Serves the metrics text at http://127.0.0.1:<port>/metrics for a Prometheus scraper or curl.
+// Bound to the loopback address only: the SQL in the labels is nobody else's business.
+class MetricsEndpoint implements AutoCloseable {
+    private final HttpServer server;
+
+    public MetricsEndpoint(int port, Supplier<String> metrics) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            try {
+                byte[] body = metrics.get().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start(); // Default executor: one thread is plenty for a scraper
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,8 @@
+package quizapp;
+
+// NewUser Class (Inheritance; a user to be created, with a plain-text password)
+class NewUser extends Person {
+    public NewUser(String name, String username, String password, String role) {
+        super(name, username, password, role);
+    }
+}
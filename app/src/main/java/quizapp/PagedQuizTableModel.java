@@ -0,0 +1,140 @@
+package quizapp;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+// PagedQuizTableModel Class
+// Table model over the quizzes table that loads rows a page at a time as the table asks for
+// them, so opening the window doesn't read every quiz. Pages are fetched with keyset pagination
+// (quiz_id > last id of the previous page). Only the most recently used pages are kept; scrolling
+// back to an evicted page fetches it again.
+// All methods must be called on the event dispatch thread.
+class PagedQuizTableModel extends AbstractTableModel {
+    static final int PAGE_SIZE = 100;
+    private static final int MAX_CACHED_PAGES = 10;
+    private static final String[] COLUMNS = { "Quiz ID", "Title" };
+
+    private final DatabaseManager databaseManager;
+    private final Map<Integer, List<QuizSummary>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<QuizSummary>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    // Last quiz_id of each page seen so far; lets a page be fetched by key even after eviction
+    private final TreeMap<Integer, Integer> lastKeys = new TreeMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private String titlePrefix = "";
+    private int rowCount;
+    private int generation;
+
+    public PagedQuizTableModel(DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+    }
+
+    // Show only quizzes whose title starts with the prefix (case-insensitive)
+    public void setTitlePrefix(String prefix) {
+        if (!prefix.equals(titlePrefix)) {
+            titlePrefix = prefix;
+            reload();
+        }
+    }
+
+    // Drop everything loaded and start again, e.g. after a quiz was added or deleted
+    public void reload() {
+        int loadGeneration = ++generation;
+        String prefix = titlePrefix;
+        pages.clear();
+        lastKeys.clear();
+        loading.clear();
+        rowCount = 0;
+        fireTableDataChanged();
+        databaseManager.async().submit(() -> databaseManager.countQuizzes(prefix))
+                .whenComplete((count, error) -> SwingUtilities.invokeLater(() -> {
+                    if (loadGeneration != generation) {
+                        return; // Superseded by a newer search
+                    }
+                    if (error != null) {
+                        DatabaseManager.showErrorDialog(null, "Database Error", AsyncDatabase.unwrap(error).getMessage());
+                        return;
+                    }
+                    rowCount = count;
+                    fireTableDataChanged();
+                }));
+    }
+
+    // The quiz on the given row, or null if its page hasn't arrived yet (it is requested)
+    public QuizSummary getQuiz(int row) {
+        int page = row / PAGE_SIZE;
+        List<QuizSummary> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int index = row % PAGE_SIZE;
+        return index < rows.size() ? rows.get(index) : null;
+    }
+
+    private void requestPage(int page) {
+        if (!loading.add(page)) {
+            return; // Already on its way (or failed; reload() retries)
+        }
+        // Seek from the nearest page before this one whose last key we know
+        Map.Entry<Integer, Integer> anchor = lastKeys.floorEntry(page - 1);
+        int afterQuizId = anchor == null ? 0 : anchor.getValue();
+        int skippedPages = page - (anchor == null ? 0 : anchor.getKey() + 1);
+        int loadGeneration = generation;
+        String prefix = titlePrefix;
+        databaseManager.async()
+                .submit(() -> databaseManager.findQuizzes(prefix, afterQuizId, skippedPages * PAGE_SIZE, PAGE_SIZE))
+                .whenComplete((rows, error) -> SwingUtilities.invokeLater(() -> {
+                    if (loadGeneration != generation) {
+                        return;
+                    }
+                    if (error != null) {
+                        DatabaseManager.showErrorDialog(null, "Database Error", AsyncDatabase.unwrap(error).getMessage());
+                        return;
+                    }
+                    loading.remove(page);
+                    pages.put(page, rows);
+                    if (!rows.isEmpty()) {
+                        lastKeys.put(page, rows.get(rows.size() - 1).quizId);
+                    }
+                    int first = page * PAGE_SIZE;
+                    int last = Math.min(rowCount, first + PAGE_SIZE) - 1;
+                    if (last >= first) {
+                        fireTableRowsUpdated(first, last);
+                    }
+                }));
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        QuizSummary quiz = getQuiz(row);
+        if (quiz == null) {
+            return column == 1 ? "Loading..." : null;
+        }
+        return column == 0 ? (Object) quiz.quizId : quiz.title;
+    }
+}
@@ -0,0 +1,15 @@
+package quizapp;
+
+// PasswordHasher Interface
+// Stored hashes are self-describing, so each hasher can tell whether it produced a given hash.
+interface PasswordHasher {
+    String hash(String password);
+
+    boolean verify(String password, String storedHash);
+
+    // True if the stored hash is in this hasher's format
+    boolean canVerify(String storedHash);
+
+    // True if the stored hash should be replaced with a fresh hash from this hasher
+    boolean needsRehash(String storedHash);
+}
@@ -0,0 +1,126 @@
+package quizapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// PasswordService Class
+// Hashes new passwords with the current hasher and verifies stored hashes with whichever hasher
+// produced them. All hashing runs on a small bounded worker pool: a login storm at exam start
+// queues here instead of taking every CPU core away from the rest of the application.
+class PasswordService implements AutoCloseable {
+    private final PasswordHasher current;
+    private final List<PasswordHasher> legacy;
+    private final ThreadPoolExecutor workers;
+    private final int bulkInFlight;
+
+    public PasswordService(PasswordHasher current, List<PasswordHasher> legacy, int workerCount, int queueCapacity) {
+        this.current = current;
+        this.legacy = legacy;
+        this.bulkInFlight = workerCount;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "password-hasher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public String hash(String password) throws ServerBusyException {
+        return call(() -> current.hash(password));
+    }
+
+    // Hash many passwords on all workers at once, e.g. for bulk provisioning. At most one hash per
+    // worker is queued or running at a time, so the queue stays open to logins throughout the job
+    // and a login waits behind at most one round of bulk hashes.
+    public List<String> hashAll(List<String> passwords) throws ServerBusyException {
+        List<Future<String>> futures = new ArrayList<>(passwords.size());
+        int done = 0;
+        try {
+            for (String password : passwords) {
+                if (futures.size() - done >= bulkInFlight) {
+                    await(futures.get(done++));
+                }
+                while (true) {
+                    try {
+                        futures.add(workers.submit(() -> current.hash(password)));
+                        break;
+                    } catch (RejectedExecutionException e) {
+                        // Logins have filled the queue; let one of ours finish before trying again
+                        if (done == futures.size()) {
+                            throw new ServerBusyException("Too many passwords being hashed, please try again in a moment");
+                        }
+                        await(futures.get(done++));
+                    }
+                }
+            }
+            List<String> hashes = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                hashes.add(await(future));
+            }
+            return hashes;
+        } finally {
+            for (Future<String> future : futures) {
+                future.cancel(true); // No-op for finished hashes; drops the rest after a failure
+            }
+        }
+    }
+
+    public boolean verify(String password, String storedHash) throws ServerBusyException {
+        PasswordHasher hasher = hasherFor(storedHash);
+        return hasher != null && call(() -> hasher.verify(password, storedHash));
+    }
+
+    // True if the stored hash is in a legacy format or was made with a lower cost than current
+    public boolean needsRehash(String storedHash) {
+        return current.canVerify(storedHash) ? current.needsRehash(storedHash) : true;
+    }
+
+    private PasswordHasher hasherFor(String storedHash) {
+        if (current.canVerify(storedHash)) {
+            return current;
+        }
+        for (PasswordHasher hasher : legacy) {
+            if (hasher.canVerify(storedHash)) {
+                return hasher;
+            }
+        }
+        return null;
+    }
+
+    private <T> T call(Callable<T> work) throws ServerBusyException {
+        Future<T> future;
+        try {
+            future = workers.submit(work);
+        } catch (RejectedExecutionException e) {
+            throw new ServerBusyException("Too many logins in progress, please try again in a moment");
+        }
+        return await(future);
+    }
+
+    private static <T> T await(Future<T> future) throws ServerBusyException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServerBusyException("Interrupted while checking password");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,97 @@
+package quizapp;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+// Pbkdf2PasswordHasher Class
+// PBKDF2-HMAC-SHA256 with a random salt and a tunable iteration count, stored as
+// $pbkdf2-sha256$<iterations>$<salt>$<hash> (salt and hash in unpadded Base64).
+class Pbkdf2PasswordHasher implements PasswordHasher {
+    private static final String PREFIX = "$pbkdf2-sha256$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    // SecretKeyFactory is not thread-safe, and looking one up per call is surprisingly slow
+    private static final ThreadLocal<SecretKeyFactory> FACTORY = ThreadLocal.withInitial(() -> {
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    });
+
+    private final int iterations;
+
+    public Pbkdf2PasswordHasher(int iterations) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive");
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations);
+        return PREFIX + iterations + '$' + ENCODER.encodeToString(salt) + '$' + ENCODER.encodeToString(hash);
+    }
+
+    @Override
+    public boolean verify(String password, String storedHash) {
+        if (!canVerify(storedHash)) {
+            return false;
+        }
+        String[] parts = storedHash.substring(PREFIX.length()).split("\\$");
+        if (parts.length != 3) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[0]);
+            byte[] salt = DECODER.decode(parts[1]);
+            byte[] expected = DECODER.decode(parts[2]);
+            // MessageDigest.isEqual is constant-time for equal-length inputs
+            return MessageDigest.isEqual(derive(password, salt, storedIterations), expected);
+        } catch (IllegalArgumentException e) {
+            return false; // Malformed stored hash
+        }
+    }
+
+    @Override
+    public boolean canVerify(String storedHash) {
+        return storedHash != null && storedHash.startsWith(PREFIX);
+    }
+
+    @Override
+    public boolean needsRehash(String storedHash) {
+        if (!canVerify(storedHash)) {
+            return true;
+        }
+        int end = storedHash.indexOf('$', PREFIX.length());
+        try {
+            return end < 0 || Integer.parseInt(storedHash.substring(PREFIX.length(), end)) < iterations;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return FACTORY.get().generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Password hashing failed", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
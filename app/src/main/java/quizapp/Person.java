@@ -0,0 +1,16 @@
+package quizapp;
+
+// Person Class (Abstract Class)
+abstract class Person {
+    protected String name;
+    protected String username;
+    protected String password;
+    protected String role; // "teacher" or "student"
+
+    public Person(String name, String username, String password, String role) {
+        this.name = name;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+}
@@ -0,0 +1,147 @@
+package quizapp;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// QueryMetrics Class
+// Latency, error and row counts per SQL statement template. The statements are parameterized, so
+// the SQL string itself is the template. Recording is lock-free: one map lookup and a few
+// atomic increments per statement. Statements slower than the threshold are logged to stderr.
+class QueryMetrics implements QueryMetricsMXBean {
+    // Guards against unbounded growth if something ever builds SQL dynamically
+    private static final int MAX_TEMPLATES = 500;
+    private static final String OTHER = "(other statements)";
+    private static final double[] QUANTILES = { 0.5, 0.99, 0.999 };
+
+    private final ConcurrentHashMap<String, QueryStats> stats = new ConcurrentHashMap<>();
+    private volatile long slowQueryThresholdMillis;
+
+    public QueryMetrics(long slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
+
+    // Start timing one execution; close the sample when the statement is done
+    public Sample start(String sql) {
+        return new Sample(sql, statsFor(sql), System.nanoTime());
+    }
+
+    private QueryStats statsFor(String sql) {
+        QueryStats queryStats = stats.get(sql);
+        if (queryStats != null) {
+            return queryStats;
+        }
+        String key = stats.size() >= MAX_TEMPLATES ? OTHER : sql;
+        return stats.computeIfAbsent(key, k -> new QueryStats());
+    }
+
+    @Override
+    public List<QuerySummary> getQueries() {
+        List<QuerySummary> summaries = new ArrayList<>();
+        for (Map.Entry<String, QueryStats> entry : stats.entrySet()) {
+            QueryStats queryStats = entry.getValue();
+            LatencyHistogram latency = queryStats.latencyMicros;
+            summaries.add(new QuerySummary(entry.getKey(), latency.getCount(), queryStats.errors.sum(),
+                    queryStats.rows.sum(), latency.getMean() / 1000, latency.percentile(50) / 1000.0,
+                    latency.percentile(99) / 1000.0, latency.percentile(99.9) / 1000.0, latency.getMax() / 1000.0));
+        }
+        // Most total time first: that's where to look when the exam is slow
+        summaries.sort(Comparator.comparingDouble((QuerySummary s) -> s.getMeanMillis() * s.getCount()).reversed());
+        return summaries;
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdMillis;
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowQueryThresholdMillis = millis;
+    }
+
+    @Override
+    public String getText() {
+        StringBuilder out = new StringBuilder();
+        out.append("# TYPE quizapp_query_duration_seconds summary\n");
+        for (Map.Entry<String, QueryStats> entry : stats.entrySet()) {
+            String label = "query=\"" + escapeLabel(entry.getKey()) + "\"";
+            LatencyHistogram latency = entry.getValue().latencyMicros;
+            for (double quantile : QUANTILES) {
+                out.append("quizapp_query_duration_seconds{").append(label).append(",quantile=\"").append(quantile)
+                        .append("\"} ").append(latency.percentile(quantile * 100) / 1e6).append('\n');
+            }
+            out.append("quizapp_query_duration_seconds_sum{").append(label).append("} ")
+                    .append(latency.getSum() / 1e6).append('\n');
+            out.append("quizapp_query_duration_seconds_count{").append(label).append("} ")
+                    .append(latency.getCount()).append('\n');
+        }
+        out.append("# TYPE quizapp_query_errors_total counter\n");
+        for (Map.Entry<String, QueryStats> entry : stats.entrySet()) {
+            out.append("quizapp_query_errors_total{query=\"").append(escapeLabel(entry.getKey())).append("\"} ")
+                    .append(entry.getValue().errors.sum()).append('\n');
+        }
+        out.append("# TYPE quizapp_query_rows_total counter\n");
+        for (Map.Entry<String, QueryStats> entry : stats.entrySet()) {
+            out.append("quizapp_query_rows_total{query=\"").append(escapeLabel(entry.getKey())).append("\"} ")
+                    .append(entry.getValue().rows.sum()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Override
+    public void reset() {
+        stats.clear();
+    }
+
+    // QueryStats Class
+    private static class QueryStats {
+        final LatencyHistogram latencyMicros = new LatencyHistogram();
+        final LongAdder errors = new LongAdder();
+        final LongAdder rows = new LongAdder();
+    }
+
+    // Sample Class (one statement execution, used by a single thread)
+    class Sample implements AutoCloseable {
+        private final String sql;
+        private final QueryStats queryStats;
+        private final long startNanos;
+        long rows;
+        private Exception error;
+
+        private Sample(String sql, QueryStats queryStats, long startNanos) {
+            this.sql = sql;
+            this.queryStats = queryStats;
+            this.startNanos = startNanos;
+        }
+
+        public void failed(Exception e) {
+            error = e;
+        }
+
+        @Override
+        public void close() {
+            long micros = (System.nanoTime() - startNanos) / 1_000;
+            queryStats.latencyMicros.record(micros);
+            queryStats.rows.add(rows);
+            if (error != null) {
+                queryStats.errors.increment();
+                String reason = error instanceof SQLException ? "SQLState " + ((SQLException) error).getSQLState()
+                        : error.getClass().getSimpleName();
+                System.err.println("Query failed (" + reason + "): " + sql);
+            }
+            long threshold = slowQueryThresholdMillis;
+            if (threshold > 0 && micros >= threshold * 1_000) {
+                System.err.printf("Slow query (%.1f ms, %d rows): %s%n", micros / 1000.0, rows, sql);
+            }
+        }
+    }
+}
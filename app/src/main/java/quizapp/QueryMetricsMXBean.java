@@ -0,0 +1,84 @@
+package quizapp;
+
+import java.util.List;
+import javax.management.ConstructorParameters;
+
+// QueryMetricsMXBean Interface
+// JMX view of QueryMetrics, registered as quizapp:type=QueryMetrics. Public because JMX only
+// introspects public interfaces.
+public interface QueryMetricsMXBean {
+    List<QuerySummary> getQueries();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    // The same metrics in Prometheus text format
+    String getText();
+
+    void reset();
+
+    // QuerySummary Class (one SQL statement template; latencies in milliseconds)
+    class QuerySummary {
+        private final String sql;
+        private final long count;
+        private final long errors;
+        private final long rows;
+        private final double meanMillis;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double p999Millis;
+        private final double maxMillis;
+
+        @ConstructorParameters({ "sql", "count", "errors", "rows", "meanMillis", "p50Millis", "p99Millis",
+                "p999Millis", "maxMillis" })
+        public QuerySummary(String sql, long count, long errors, long rows, double meanMillis, double p50Millis,
+                double p99Millis, double p999Millis, double maxMillis) {
+            this.sql = sql;
+            this.count = count;
+            this.errors = errors;
+            this.rows = rows;
+            this.meanMillis = meanMillis;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.p999Millis = p999Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getP999Millis() {
+            return p999Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+    }
+}
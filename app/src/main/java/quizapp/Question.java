@@ -0,0 +1,26 @@
+package quizapp;
+
+import java.util.List;
+
+// Question Class (question as stored in the database; immutable so it can be shared between windows)
+class Question {
+    protected final int questionId;
+    protected final String questionText;
+    protected final String questionType;
+    protected final List<String> options;
+
+    public Question(int questionId, String questionText, String questionType, String options) {
+        this.questionId = questionId;
+        this.questionText = questionText;
+        this.questionType = questionType;
+        // Split once here rather than every time the question is shown
+        this.options = options == null || options.isEmpty() ? List.of() : List.of(options.split("~"));
+    }
+
+    public Question(int questionId, String questionText, String questionType, List<String> options) {
+        this.questionId = questionId;
+        this.questionText = questionText;
+        this.questionType = questionType;
+        this.options = List.copyOf(options);
+    }
+}
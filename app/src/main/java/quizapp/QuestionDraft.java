@@ -0,0 +1,35 @@
+package quizapp;
+
+import java.util.List;
+
+// QuestionDraft Class (question as entered in QuizCreator; questionId and position are set once saved)
+class QuestionDraft {
+    protected Integer questionId; // null until saved
+    protected int position;
+    protected String questionText;
+    protected String questionType;
+    protected List<String> options;
+    protected String correctAnswer; // null when the question isn't auto-graded
+
+    public QuestionDraft(String questionText, String questionType, List<String> options, String correctAnswer) {
+        this.questionText = questionText;
+        this.questionType = questionType;
+        this.options = options;
+        this.correctAnswer = correctAnswer;
+    }
+
+    public QuestionDraft(Integer questionId, String questionText, String questionType, List<String> options,
+            String correctAnswer) {
+        this(questionText, questionType, options, correctAnswer);
+        this.questionId = questionId;
+    }
+
+    // Only True/False and Multiple Choice answers are counted in answer_counts
+    boolean isCounted() {
+        return "True/False".equals(questionType) || "Multiple Choice".equals(questionType);
+    }
+
+    boolean isGraded() {
+        return isCounted() && correctAnswer != null;
+    }
+}
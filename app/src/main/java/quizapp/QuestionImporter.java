@@ -0,0 +1,379 @@
+package quizapp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+// QuestionImporter Class
+// Bulk-loads question banks. The file is read as a stream, each row is validated, and valid rows
+// are sent with COPY into a temporary staging table; one INSERT ... SELECT then creates the
+// quizzes and their questions. Everything happens in one transaction, so an import either lands
+// completely or not at all. Memory use doesn't depend on the size of the file.
+//
+// Two file formats, both with one question per row and these fields:
+//   quiz, question_text, question_type, options, correct_answer
+// - CSV (.csv): a header row naming the columns (any order, extra columns ignored); options are
+//   separated by "~", the same way they are stored
+// - JSON Lines (.jsonl, .ndjson, .json): one JSON object per line, options as an array of strings
+// Each distinct quiz title becomes a new quiz, with its questions in file order.
+class QuestionImporter {
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+    private static final String[] FIELDS = { "quiz", "question_text", "question_type", "options", "correct_answer" };
+
+    private final DatabaseManager databaseManager;
+
+    public QuestionImporter(DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+    }
+
+    // Import the file. Unless skipInvalidRows is set, any invalid row means nothing is imported and
+    // the result only lists the errors.
+    public Result importFile(Path file, boolean skipInvalidRows) throws SQLException, IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        boolean csv = name.endsWith(".csv");
+        if (!csv && !name.endsWith(".jsonl") && !name.endsWith(".ndjson") && !name.endsWith(".json")) {
+            throw new IOException("Unsupported file type (expected .csv or .jsonl): " + file.getFileName());
+        }
+        long start = System.nanoTime();
+        Result result;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            RowSource source = csv ? new CsvRowSource(reader) : new JsonLinesRowSource(reader);
+            result = databaseManager.inTransaction("importQuestions", connection -> {
+                Result staged = stage(connection, source);
+                if (staged.errorCount > 0 && !skipInvalidRows || staged.validRows == 0) {
+                    return staged; // Committing only drops the staging table
+                }
+                createQuizzes(connection, staged);
+                return staged;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        databaseManager.invalidateQuizSnapshots(result.quizIds);
+        return result;
+    }
+
+    // Validate every row and COPY the valid ones into the staging table
+    private Result stage(Connection connection, RowSource source) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE question_import (line INTEGER NOT NULL, quiz_title TEXT NOT NULL, "
+                    + "question_text TEXT NOT NULL, question_type TEXT NOT NULL, options TEXT, correct_answer TEXT) "
+                    + "ON COMMIT DROP");
+        }
+        Result result = new Result();
+        CopyIn copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                "COPY question_import (line, quiz_title, question_text, question_type, options, correct_answer) "
+                        + "FROM STDIN");
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+            String[] row;
+            while ((row = source.next()) != null) {
+                String error = source.problem() != null ? source.problem() : validate(row);
+                if (error != null) {
+                    result.addError(source.line(), error);
+                    continue;
+                }
+                result.validRows++;
+                buffer.append(source.line());
+                for (String field : row) {
+                    buffer.append('\t');
+                    appendCopyField(buffer, field);
+                }
+                buffer.append('\n');
+                if (buffer.length() >= COPY_BUFFER_CHARS) {
+                    writeToCopy(copy, buffer);
+                }
+            }
+            writeToCopy(copy, buffer);
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+        return result;
+    }
+
+    // One quiz per distinct title (in order of first appearance), then all questions in file order
+    private void createQuizzes(Connection connection, Result result) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "WITH new_quizzes AS (INSERT INTO quizzes (title) SELECT quiz_title FROM question_import "
+                        + "GROUP BY quiz_title ORDER BY min(line) RETURNING quiz_id, title), "
+                        + "new_questions AS (INSERT INTO questions (quiz_id, question_text, question_type, options, correct_answer, position) "
+                        + "SELECT n.quiz_id, i.question_text, i.question_type, i.options, i.correct_answer, "
+                        + "row_number() OVER (PARTITION BY n.quiz_id ORDER BY i.line) - 1 "
+                        + "FROM question_import i JOIN new_quizzes n ON n.title = i.quiz_title ORDER BY i.line "
+                        + "RETURNING quiz_id) "
+                        + "SELECT quiz_id, count(*) FROM new_questions GROUP BY quiz_id")) {
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    result.quizIds.add(rs.getInt(1));
+                    result.questionCount += rs.getInt(2);
+                }
+            }
+        }
+        result.imported = true;
+    }
+
+    // Returns the reason the row can't be imported, or null. Normalizes True/False options.
+    static String validate(String[] row) {
+        String quiz = row[0];
+        String text = row[1];
+        String type = row[2];
+        String options = row[3];
+        String answer = row[4];
+        if (quiz == null || quiz.trim().isEmpty()) {
+            return "Missing quiz title";
+        }
+        if (quiz.length() > 200) {
+            return "Quiz title is longer than 200 characters";
+        }
+        if (text == null || text.trim().isEmpty()) {
+            return "Missing question text";
+        }
+        if (type == null) {
+            return "Missing question type";
+        }
+        List<String> optionList = options == null || options.isEmpty() ? List.of() : List.of(options.split("~", -1));
+        switch (type) {
+            case "Short Answer":
+                if (!optionList.isEmpty()) {
+                    return "Short Answer questions can't have options";
+                }
+                if (answer != null) {
+                    return "Short Answer questions can't have a correct answer";
+                }
+                row[3] = null;
+                return null;
+            case "True/False":
+                if (!optionList.isEmpty() && !optionList.equals(List.of("True", "False"))) {
+                    return "True/False options must be \"True~False\" or empty";
+                }
+                row[3] = "True~False";
+                break;
+            case "Multiple Choice":
+                if (optionList.size() < 2) {
+                    return "Multiple Choice questions need at least two options";
+                }
+                if (optionList.contains("")) {
+                    return "Options can't be empty";
+                }
+                if (new HashSet<>(optionList).size() != optionList.size()) {
+                    return "Options must be different from each other";
+                }
+                break;
+            default:
+                return "Unknown question type \"" + type + "\" (expected Short Answer, True/False or Multiple Choice)";
+        }
+        if (answer != null && !List.of(row[3].split("~", -1)).contains(answer)) {
+            return "Correct answer \"" + answer + "\" is not one of the options";
+        }
+        return null;
+    }
+
+    // COPY text format: tab-separated, \N for null, backslash escapes for the special characters
+    private static void appendCopyField(StringBuilder buffer, String value) {
+        if (value == null) {
+            buffer.append("\\N");
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                default:
+                    buffer.append(c);
+            }
+        }
+    }
+
+    private static void writeToCopy(CopyIn copy, StringBuilder buffer) throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    // Result Class
+    static class Result {
+        final List<String> errors = new ArrayList<>();
+        final List<Integer> quizIds = new ArrayList<>();
+        int errorCount;
+        int validRows;
+        int questionCount;
+        boolean imported;
+        long elapsedMillis;
+
+        private void addError(long line, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Line " + line + ": " + message);
+            }
+        }
+
+        @Override
+        public String toString() {
+            if (imported) {
+                return "Imported " + questionCount + " questions into " + quizIds.size() + " quizzes in " + elapsedMillis
+                        + " ms" + (errorCount > 0 ? " (" + errorCount + " invalid rows skipped)" : "") + ".";
+            }
+            return errorCount > 0 ? errorCount + " invalid rows; nothing was imported." : "The file has no questions.";
+        }
+    }
+
+    // RowSource Interface (rows of FIELDS, in that order)
+    private interface RowSource {
+        // The next row, or null at the end of the file
+        String[] next();
+
+        // Line number where the row returned by next() starts
+        long line();
+
+        // Why the row returned by next() couldn't be read, or null
+        String problem();
+    }
+
+    // CsvRowSource Class
+    private static class CsvRowSource implements RowSource {
+        private final CsvReader csv;
+        private final Integer[] fieldColumns = new Integer[FIELDS.length];
+
+        CsvRowSource(BufferedReader reader) throws IOException {
+            csv = new CsvReader(reader);
+            Map<String, Integer> columns = CsvReader.columnsOf(csv.readRecord());
+            for (int i = 0; i < FIELDS.length; i++) {
+                fieldColumns[i] = columns.get(FIELDS[i]); // Missing optional columns read as empty
+            }
+            if (fieldColumns[0] == null || fieldColumns[1] == null || fieldColumns[2] == null) {
+                throw new IOException("The CSV header must name at least the quiz, question_text and question_type columns");
+            }
+        }
+
+        @Override
+        public String[] next() {
+            List<String> record;
+            try {
+                record = csv.readRecord();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (record == null) {
+                return null;
+            }
+            String[] row = new String[FIELDS.length];
+            for (int i = 0; i < FIELDS.length; i++) {
+                row[i] = CsvReader.field(record, fieldColumns[i]);
+            }
+            return row;
+        }
+
+        @Override
+        public long line() {
+            return csv.recordLine();
+        }
+
+        @Override
+        public String problem() {
+            return null;
+        }
+    }
+
+    // JsonLinesRowSource Class
+    private static class JsonLinesRowSource implements RowSource {
+        private final BufferedReader reader;
+        private long currentLine;
+        private String problem;
+
+        JsonLinesRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public String[] next() {
+            try {
+                String line;
+                do {
+                    line = reader.readLine();
+                    if (line == null) {
+                        return null;
+                    }
+                    currentLine++;
+                } while (line.trim().isEmpty());
+                return toRow(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public long line() {
+            return currentLine;
+        }
+
+        @Override
+        public String problem() {
+            return problem;
+        }
+
+        private String[] toRow(String line) {
+            String[] row = new String[FIELDS.length];
+            problem = null;
+            Object parsed;
+            try {
+                parsed = Json.parse(line);
+            } catch (IllegalArgumentException e) {
+                problem = "Invalid JSON: " + e.getMessage();
+                return row;
+            }
+            if (!(parsed instanceof Map)) {
+                problem = "Expected a JSON object";
+                return row;
+            }
+            Map<?, ?> object = (Map<?, ?>) parsed;
+            for (int i = 0; i < FIELDS.length; i++) {
+                Object value = object.get(FIELDS[i]);
+                if (value instanceof List) {
+                    List<String> options = new ArrayList<>();
+                    for (Object option : (List<?>) value) {
+                        options.add(String.valueOf(option));
+                    }
+                    if (options.stream().anyMatch(option -> option.contains("~"))) {
+                        problem = "Options can't contain \"~\""; // It separates the stored options
+                    }
+                    row[i] = String.join("~", options);
+                } else {
+                    row[i] = value == null ? null : String.valueOf(value);
+                }
+            }
+            return row;
+        }
+    }
+}
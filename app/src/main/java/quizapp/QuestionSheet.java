@@ -0,0 +1,148 @@
+package quizapp;
+
+import java.awt.Component;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.DefaultCellEditor;
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.JTable;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableCellEditor;
+
+// QuestionSheet Class
+// A quiz's questions as the rows of a table, with the student's answer in the last column.
+// A JTable only paints the rows in view and shares one renderer and one editor between all rows,
+// so opening a quiz creates the same handful of Swing components whether it has ten questions or
+// thousands. The answers are kept in AnswerModel, one string per question, not in components.
+class QuestionSheet extends JTable {
+    private static final List<String> TRUE_FALSE = List.of("True", "False");
+
+    private final AnswerModel model;
+    private final DefaultCellEditor textEditor = new DefaultCellEditor(new JTextField());
+    private final JComboBox<String> choiceBox = new JComboBox<>();
+    private final DefaultCellEditor choiceEditor = new DefaultCellEditor(choiceBox);
+
+    public QuestionSheet(List<Question> questions) {
+        model = new AnswerModel(questions);
+        setModel(model);
+        setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        setSurrendersFocusOnKeystroke(true);
+        putClientProperty("terminateEditOnFocusLost", Boolean.TRUE);
+        textEditor.setClickCountToStart(1);
+        setRowHeight(Math.max(getRowHeight(), choiceBox.getPreferredSize().height + 2));
+        getColumnModel().getColumn(0).setPreferredWidth(40);
+        getColumnModel().getColumn(0).setMaxWidth(60);
+        getColumnModel().getColumn(1).setPreferredWidth(400);
+        getColumnModel().getColumn(2).setPreferredWidth(200);
+        getColumnModel().getColumn(1).setCellRenderer(new QuestionRenderer());
+    }
+
+    // question_id -> answer, in question order
+    public Map<Integer, String> getAnswers() {
+        if (isEditing()) {
+            getCellEditor().stopCellEditing();
+        }
+        Map<Integer, String> answers = new LinkedHashMap<>();
+        for (int i = 0; i < model.questions.size(); i++) {
+            Question question = model.questions.get(i);
+            String answer = model.answers[i];
+            answers.put(question.questionId, choicesFor(question) == null ? answer.trim() : answer);
+        }
+        return answers;
+    }
+
+    // The one combo box editor is refilled with the options of whichever row is being edited
+    @Override
+    public TableCellEditor getCellEditor(int row, int column) {
+        List<String> choices = choicesFor(model.questions.get(convertRowIndexToModel(row)));
+        if (choices == null) {
+            return textEditor;
+        }
+        choiceBox.setModel(new DefaultComboBoxModel<>(choices.toArray(new String[0])));
+        return choiceEditor;
+    }
+
+    // Null for free-text questions
+    private static List<String> choicesFor(Question question) {
+        switch (question.questionType) {
+            case "True/False":
+                return TRUE_FALSE;
+            case "Multiple Choice":
+                return question.options;
+            default:
+                return null;
+        }
+    }
+
+    // AnswerModel Class (questions are shared with the quiz snapshot; answers[i] belongs to row i)
+    private static class AnswerModel extends AbstractTableModel {
+        private static final String[] COLUMNS = { "#", "Question", "Answer" };
+
+        private final List<Question> questions;
+        private final String[] answers;
+
+        AnswerModel(List<Question> questions) {
+            this.questions = questions;
+            answers = new String[questions.size()];
+            for (int i = 0; i < answers.length; i++) {
+                // Same starting answer as an untouched text field or combo box
+                List<String> choices = choicesFor(questions.get(i));
+                answers[i] = choices == null ? "" : choices.isEmpty() ? null : choices.get(0);
+            }
+        }
+
+        @Override
+        public int getRowCount() {
+            return questions.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            switch (column) {
+                case 0:
+                    return row + 1;
+                case 1:
+                    return questions.get(row).questionText;
+                default:
+                    return answers[row];
+            }
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return column == 2;
+        }
+
+        @Override
+        public void setValueAt(Object value, int row, int column) {
+            answers[row] = (String) value;
+            fireTableCellUpdated(row, column);
+        }
+    }
+
+    // QuestionRenderer Class (long questions are cut off in the row, so the full text is the tooltip)
+    private static class QuestionRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            setToolTipText((String) value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package quizapp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+// QuizBundle Class
+// A quiz and its questions in one small file, so a quiz can be taken on a machine that can't reach
+// the database reliably. Opening a bundle maps the file and decodes it in one pass; the options
+// are stored already split, so nothing is parsed per question.
+//
+// Format (all integers big-endian; strings are an int byte length followed by UTF-8 bytes):
+//   "QZB1", short version, int quiz id, string title, int question count,
+//   then per question: int question id, string type, string text, short option count, options
+//   int CRC32 of everything before it
+class QuizBundle {
+    static final String EXTENSION = "qzb";
+    private static final int MAGIC = 0x515A4231; // "QZB1"
+    private static final short VERSION = 1;
+
+    private QuizBundle() {
+    }
+
+    // Write the quiz to the target file, replacing it
+    public static void write(QuizSnapshot quiz, Path target) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(quiz.quizId);
+        writeString(out, quiz.title);
+        out.writeInt(quiz.questions.size());
+        for (Question question : quiz.questions) {
+            out.writeInt(question.questionId);
+            writeString(out, question.questionType);
+            writeString(out, question.questionText);
+            out.writeShort(question.options.size());
+            for (String option : question.options) {
+                writeString(out, option);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        // Written under a temporary name and moved into place, so a kiosk never sees half a bundle
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), ".bundle-", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] text = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(text.length);
+        out.write(text);
+    }
+
+    // Throws IOException if the file isn't a bundle this version can read or has been damaged
+    public static QuizSnapshot read(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < 10 || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(file.getFileName() + " is not a quiz bundle");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException(file.getFileName() + " is not a quiz bundle");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IOException(file.getFileName() + " was written by a newer version (bundle version "
+                    + buffer.getShort(4) + ")");
+        }
+        int end = buffer.capacity() - 4;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, end));
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            throw new IOException(file.getFileName() + " is damaged (checksum mismatch)");
+        }
+
+        ByteBuffer in = buffer.slice(6, end - 6);
+        try {
+            int quizId = in.getInt();
+            String title = readString(in);
+            int count = in.getInt();
+            List<Question> questions = new ArrayList<>(Math.min(count, end / 16));
+            for (int i = 0; i < count; i++) {
+                int questionId = in.getInt();
+                String type = readString(in);
+                String text = readString(in);
+                int optionCount = in.getShort() & 0xFFFF;
+                List<String> options = new ArrayList<>(optionCount);
+                for (int j = 0; j < optionCount; j++) {
+                    options.add(readString(in));
+                }
+                questions.add(new Question(questionId, text, type, options));
+            }
+            return new QuizSnapshot(quizId, title, questions);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException(file.getFileName() + " is damaged", e);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
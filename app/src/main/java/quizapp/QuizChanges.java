@@ -0,0 +1,110 @@
+package quizapp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// QuizChanges Class
+// What saving an edited quiz has to write: the difference between the questions as loaded and as
+// they are now. Questions without an id are new, and loaded questions missing from the list were
+// deleted. Unchanged questions appear nowhere, so the cost of a save depends on what was edited,
+// not on the size of the quiz. Positions only have to increase down the list, so deleting a
+// question leaves gaps rather than renumbering everything after it.
+class QuizChanges {
+    final String title; // null if unchanged
+    final List<QuestionDraft> inserted = new ArrayList<>();
+    final List<QuestionDraft> updated = new ArrayList<>(); // Edited or moved
+    final List<Integer> deleted = new ArrayList<>();
+    // Subsets of the above, for the follow-up work in DatabaseManager.updateQuiz
+    final Set<Integer> countingChanged = new HashSet<>(); // Updated questions now (not) in answer_counts
+    final Set<Integer> gradingLost = new HashSet<>(); // Updated questions that are no longer graded
+    boolean gradedQuestionDeleted;
+
+    private QuizChanges(String title) {
+        this.title = title;
+    }
+
+    public static QuizChanges between(String loadedTitle, List<QuestionDraft> loaded, String title,
+            List<QuestionDraft> edited) {
+        QuizChanges changes = new QuizChanges(title.equals(loadedTitle) ? null : title);
+        Set<Integer> kept = new HashSet<>();
+        Map<Integer, QuestionDraft> loadedById = new HashMap<>();
+        for (QuestionDraft question : loaded) {
+            loadedById.put(question.questionId, question);
+        }
+
+        int[] positions = positions(edited, loadedById);
+        for (int i = 0; i < edited.size(); i++) {
+            QuestionDraft question = edited.get(i);
+            question.position = positions[i];
+            QuestionDraft before = question.questionId == null ? null : loadedById.get(question.questionId);
+            if (before == null) {
+                question.questionId = null;
+                changes.inserted.add(question);
+                continue;
+            }
+            kept.add(question.questionId);
+            if (before.position != question.position || !sameContent(before, question)) {
+                changes.updated.add(question);
+            }
+            if (before.isCounted() != question.isCounted()) {
+                changes.countingChanged.add(question.questionId);
+            }
+            if (before.isGraded() && !question.isGraded()) {
+                changes.gradingLost.add(question.questionId);
+            }
+        }
+
+        for (QuestionDraft question : loaded) {
+            if (!kept.contains(question.questionId)) {
+                changes.deleted.add(question.questionId);
+                changes.gradedQuestionDeleted |= question.isGraded();
+            }
+        }
+        return changes;
+    }
+
+    // Of two numberings, whichever moves fewer questions: keeping each position that still comes
+    // after the previous one (best when questions were deleted or added at the end), or numbering
+    // from 0 (best when questions were moved, which would otherwise push every later one along)
+    private static int[] positions(List<QuestionDraft> edited, Map<Integer, QuestionDraft> loadedById) {
+        int[] kept = new int[edited.size()];
+        int[] dense = new int[edited.size()];
+        int keptMoves = 0;
+        int denseMoves = 0;
+        int last = -1;
+        for (int i = 0; i < edited.size(); i++) {
+            QuestionDraft question = edited.get(i);
+            QuestionDraft before = question.questionId == null ? null : loadedById.get(question.questionId);
+            kept[i] = before != null && before.position > last ? before.position : last + 1;
+            last = kept[i];
+            dense[i] = i;
+            keptMoves += before == null || before.position != kept[i] ? 1 : 0;
+            denseMoves += before == null || before.position != i ? 1 : 0;
+        }
+        return keptMoves <= denseMoves ? kept : dense;
+    }
+
+    // Changing any of these can change which answers are correct
+    private static boolean sameKey(QuestionDraft a, QuestionDraft b) {
+        return a.questionType.equals(b.questionType) && a.options.equals(b.options)
+                && Objects.equals(a.correctAnswer, b.correctAnswer);
+    }
+
+    private static boolean sameContent(QuestionDraft a, QuestionDraft b) {
+        return a.questionText.equals(b.questionText) && sameKey(a, b);
+    }
+
+    public boolean isEmpty() {
+        return title == null && inserted.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return inserted.size() + " added, " + updated.size() + " changed, " + deleted.size() + " deleted";
+    }
+}
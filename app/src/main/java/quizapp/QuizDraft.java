@@ -0,0 +1,16 @@
+package quizapp;
+
+import java.util.List;
+
+// QuizDraft Class (a saved quiz loaded into QuizCreator for editing)
+class QuizDraft {
+    protected final int quizId;
+    protected final String title;
+    protected final List<QuestionDraft> questions;
+
+    public QuizDraft(int quizId, String title, List<QuestionDraft> questions) {
+        this.quizId = quizId;
+        this.title = title;
+        this.questions = questions;
+    }
+}
@@ -0,0 +1,147 @@
+package quizapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import javax.swing.DefaultComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+// QuizPicker Class
+// Editable combo box for choosing a quiz by typing the start of its title. Only the first few
+// matches are fetched (through the title prefix index), instead of every quiz being loaded into
+// the list. The first quiz is selected once the initial matches arrive.
+class QuizPicker extends JComboBox<QuizSummary> {
+    private static final int MAX_MATCHES = 20;
+    private static final int TYPING_DELAY_MS = 250;
+
+    private final DatabaseManager databaseManager;
+    private final DefaultComboBoxModel<QuizSummary> model = new DefaultComboBoxModel<>();
+    private final JTextField editorField;
+    private final Timer searchTimer;
+    private final List<Consumer<QuizSummary>> selectionListeners = new ArrayList<>();
+    private QuizSummary selectedQuiz;
+    private CompletableFuture<List<QuizSummary>> pendingSearch;
+    private boolean updating;
+
+    public QuizPicker(DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+        setModel(model);
+        setEditable(true);
+        editorField = (JTextField) getEditor().getEditorComponent();
+
+        // Search once the user pauses typing, not on every keystroke
+        searchTimer = new Timer(TYPING_DELAY_MS, e -> search(editorField.getText(), false));
+        searchTimer.setRepeats(false);
+        editorField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                textChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                textChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        addActionListener(e -> selectionChanged());
+
+        search("", true);
+    }
+
+    // Called on the EDT whenever the user picks a different quiz
+    public void addQuizSelectionListener(Consumer<QuizSummary> listener) {
+        selectionListeners.add(listener);
+    }
+
+    // The quiz the user last picked, or null; typing a new search doesn't clear it
+    public QuizSummary getSelectedQuiz() {
+        return selectedQuiz;
+    }
+
+    private void textChanged() {
+        if (updating) {
+            return;
+        }
+        Object selected = getSelectedItem();
+        if (selected instanceof QuizSummary && editorField.getText().equals(selected.toString())) {
+            return; // The editor is just showing the item that was picked
+        }
+        searchTimer.restart();
+    }
+
+    private void search(String prefix, boolean selectFirst) {
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+        }
+        CompletableFuture<List<QuizSummary>> search = databaseManager.async()
+                .submit(() -> databaseManager.findQuizzes(prefix.trim(), 0, 0, MAX_MATCHES));
+        pendingSearch = search;
+        search.whenComplete((matches, error) -> SwingUtilities.invokeLater(() -> {
+            if (search.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                DatabaseManager.showErrorDialog(this, "Database Error", AsyncDatabase.unwrap(error).getMessage());
+            } else {
+                showMatches(prefix, matches, selectFirst);
+            }
+        }));
+    }
+
+    private void showMatches(String prefix, List<QuizSummary> matches, boolean selectFirst) {
+        if (!selectFirst && !editorField.getText().equals(prefix)) {
+            return; // The user kept typing; a newer search is coming
+        }
+        updating = true;
+        try {
+            model.removeAllElements();
+            for (QuizSummary quiz : matches) {
+                model.addElement(quiz);
+            }
+            if (selectFirst && !matches.isEmpty()) {
+                model.setSelectedItem(matches.get(0));
+            } else {
+                model.setSelectedItem(prefix); // Keep what the user typed in the editor
+            }
+        } finally {
+            updating = false;
+        }
+        if (selectFirst) {
+            selectionChanged();
+        } else if (!matches.isEmpty() && isShowing()) {
+            showPopup();
+        }
+    }
+
+    private void selectionChanged() {
+        if (updating) {
+            return;
+        }
+        Object selected = getSelectedItem();
+        if (selected instanceof QuizSummary && selected != selectedQuiz) {
+            selectedQuiz = (QuizSummary) selected;
+            for (Consumer<QuizSummary> listener : selectionListeners) {
+                listener.accept(selectedQuiz);
+            }
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        searchTimer.stop();
+        if (pendingSearch != null) {
+            pendingSearch.cancel(true);
+        }
+        super.removeNotify();
+    }
+}
@@ -0,0 +1,384 @@
+package quizapp;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// QuizServer Class
+// Headless quiz-taking server: students use JSON over HTTP instead of running the desktop app,
+// so thousands of them share the one DatabaseManager and its small connection pool rather than
+// each holding a Postgres connection. Requests run on virtual threads where available; a request
+// waiting for a pooled connection just parks. Without virtual threads they run on a fixed pool of
+// platform threads with a bounded queue, and requests that don't fit get 503 straight away.
+//
+//   POST /api/login                    {"username": ..., "password": ...} -> {"token": ..., ...}
+//   POST /api/logout                   (Authorization: Bearer <token>)
+//   GET  /api/quizzes[?prefix=&after=&limit=] -> [{"quizId": ..., "title": ...}], one page in quizId
+//                                      order; pass the last quizId as after= to get the next page
+//   GET  /api/quizzes/{id}             -> {"quizId", "title", "attended", "questions": [...]}
+//   POST /api/quizzes/{id}/responses   {"answers": {"<questionId>": "<answer>"}} -> {"responseId": ...}
+class QuizServer implements AutoCloseable {
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    // Only used when virtual threads aren't available
+    private static final int WORKER_THREADS = Integer.getInteger("quizapp.server.threads", 64);
+    private static final int WORKER_QUEUE_SIZE = Integer.getInteger("quizapp.server.queueSize", 1024);
+
+    private final DatabaseManager databaseManager;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public QuizServer(DatabaseManager databaseManager, int port, int backlog) throws IOException {
+        this.databaseManager = databaseManager;
+        this.server = HttpServer.create(new InetSocketAddress(port), backlog);
+        this.executor = newRequestExecutor();
+        // The server's own dispatcher thread reads the request headers and hands the exchange to
+        // the executor, so a rejected request can still be answered
+        server.createContext("/api/login", exchange -> dispatch(exchange, this::login));
+        server.createContext("/api/logout", exchange -> dispatch(exchange, this::logout));
+        server.createContext("/api/quizzes", exchange -> dispatch(exchange, this::quizzes));
+    }
+
+    private static ExecutorService newRequestExecutor() {
+        ExecutorService executor = AsyncDatabase.newVirtualThreadExecutor();
+        if (executor != null) {
+            return executor;
+        }
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(WORKER_THREADS, WORKER_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(WORKER_QUEUE_SIZE), AsyncDatabase.daemonThreads("http-worker"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdownNow();
+    }
+
+    private Object login(HttpExchange exchange) throws Exception {
+        requireMethod(exchange, "POST");
+        Map<String, Object> body = readObject(exchange);
+        String username = requireString(body, "username");
+        String password = requireString(body, "password");
+        String token;
+        try {
+            token = databaseManager.loginUser(username, password);
+        } catch (UserNotFoundException | InvalidPasswordException e) {
+            // Same answer for both so the API can't be used to probe for usernames
+            throw new HttpError(401, "Invalid username or password");
+        }
+        User user = databaseManager.validateSession(token); // Served from the session cache
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("token", token);
+        result.put("userId", user.userId);
+        result.put("name", user.name);
+        result.put("role", user.role);
+        return result;
+    }
+
+    private Object logout(HttpExchange exchange) throws Exception {
+        requireMethod(exchange, "POST");
+        authenticate(exchange);
+        databaseManager.logoutUser(bearerToken(exchange));
+        return null;
+    }
+
+    private Object quizzes(HttpExchange exchange) throws Exception {
+        User user = authenticate(exchange);
+        // /api/quizzes, /api/quizzes/{id} or /api/quizzes/{id}/responses
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        if (path.length == 3) {
+            requireMethod(exchange, "GET");
+            return quizPage(exchange);
+        }
+        int quizId;
+        try {
+            quizId = Integer.parseInt(path[3]);
+        } catch (NumberFormatException e) {
+            throw new HttpError(404, "Not found");
+        }
+        if (path.length == 4) {
+            requireMethod(exchange, "GET");
+            return quiz(user, quizId);
+        }
+        if (path.length == 5 && path[4].equals("responses")) {
+            requireMethod(exchange, "POST");
+            return submit(exchange, user, quizId);
+        }
+        throw new HttpError(404, "Not found");
+    }
+
+    // Keyset-paged like the desktop quiz table; a client can't ask for more than MAX_PAGE_SIZE at once
+    private Object quizPage(HttpExchange exchange) throws Exception {
+        Map<String, String> params = queryParams(exchange);
+        int afterId = intParam(params, "after", 0);
+        int limit = intParam(params, "limit", DEFAULT_PAGE_SIZE);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new HttpError(400, "\"limit\" must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<Object> quizzes = new ArrayList<>();
+        for (QuizSummary summary : databaseManager.findQuizzes(params.getOrDefault("prefix", ""), afterId, 0, limit)) {
+            Map<String, Object> quiz = new LinkedHashMap<>();
+            quiz.put("quizId", summary.quizId);
+            quiz.put("title", summary.title);
+            quizzes.add(quiz);
+        }
+        return quizzes;
+    }
+
+    private Object quiz(User user, int quizId) throws Exception {
+        QuizSnapshot quiz = databaseManager.getQuizSnapshot(quizId);
+        if (quiz == null) {
+            throw new HttpError(404, "Quiz not found");
+        }
+        List<Object> questions = new ArrayList<>();
+        for (Question question : quiz.questions) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("questionId", question.questionId);
+            item.put("text", question.questionText);
+            item.put("type", question.questionType);
+            item.put("options", question.options);
+            questions.add(item);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("quizId", quiz.quizId);
+        result.put("title", quiz.title);
+        result.put("attended", databaseManager.hasAttended(user.userId, quizId));
+        result.put("questions", questions);
+        return result;
+    }
+
+    private Object submit(HttpExchange exchange, User user, int quizId) throws Exception {
+        Object answersValue = readObject(exchange).get("answers");
+        if (!(answersValue instanceof Map)) {
+            throw new HttpError(400, "\"answers\" must be an object of questionId to answer");
+        }
+        Map<Integer, String> answers = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : ((Map<?, ?>) answersValue).entrySet()) {
+            try {
+                answers.put(Integer.parseInt((String) entry.getKey()),
+                        entry.getValue() == null ? "" : String.valueOf(entry.getValue()));
+            } catch (NumberFormatException e) {
+                throw new HttpError(400, "Bad question id " + entry.getKey());
+            }
+        }
+        if (databaseManager.getQuizSnapshot(quizId) == null) {
+            throw new HttpError(404, "Quiz not found");
+        }
+        int responseId;
+        try {
+            responseId = databaseManager.submitResponses(user.userId, quizId, answers);
+        } catch (SQLException e) {
+            if ("23505".equals(e.getSQLState())) { // unique_violation on (user_id, quiz_id)
+                throw new HttpError(409, "You have already attended this quiz");
+            }
+            throw e;
+        }
+        return Map.of("responseId", responseId);
+    }
+
+    private User authenticate(HttpExchange exchange) throws Exception {
+        String token = bearerToken(exchange);
+        if (token == null) {
+            throw new HttpError(401, "Missing bearer token");
+        }
+        User user;
+        try {
+            user = databaseManager.validateSession(token);
+        } catch (SessionExpiredException e) {
+            throw new HttpError(401, "Session expired");
+        }
+        if (user == null) {
+            throw new HttpError(401, "Invalid session");
+        }
+        return user;
+    }
+
+    private static String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return null;
+        }
+        return header.substring(7).trim();
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) throws HttpError {
+        if (!exchange.getRequestMethod().equalsIgnoreCase(method)) {
+            exchange.getResponseHeaders().set("Allow", method);
+            throw new HttpError(405, "Method not allowed");
+        }
+    }
+
+    private static Map<String, String> queryParams(HttpExchange exchange) throws HttpError {
+        Map<String, String> params = new LinkedHashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            try {
+                params.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                        URLDecoder.decode(value, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException e) {
+                throw new HttpError(400, "Malformed query string");
+            }
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) throws HttpError {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, "\"" + name + "\" must be a number");
+        }
+    }
+
+    private static String requireString(Map<String, Object> body, String field) throws HttpError {
+        Object value = body.get(field);
+        if (!(value instanceof String) || ((String) value).isEmpty()) {
+            throw new HttpError(400, "\"" + field + "\" is required");
+        }
+        return (String) value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readObject(HttpExchange exchange) throws IOException, HttpError {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (body.length > MAX_BODY_BYTES) {
+            throw new HttpError(413, "Request body too large");
+        }
+        Object value;
+        try {
+            value = Json.parse(new String(body, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new HttpError(400, "Malformed JSON: " + e.getMessage());
+        }
+        if (!(value instanceof Map)) {
+            throw new HttpError(400, "Expected a JSON object");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private void dispatch(HttpExchange exchange, Route route) throws IOException {
+        try {
+            executor.execute(() -> {
+                try {
+                    handle(exchange, route);
+                } catch (IOException e) {
+                    // Client went away; nothing left to answer
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            try {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                send(exchange, 503, error("Server busy, try again shortly"));
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    // Run the route and turn its result (or failure) into a JSON response
+    private void handle(HttpExchange exchange, Route route) throws IOException {
+        try {
+            int status;
+            Object body;
+            try {
+                body = route.handle(exchange);
+                status = body == null ? 204 : 200;
+            } catch (HttpError e) {
+                status = e.status;
+                body = error(e.getMessage());
+            } catch (ServerBusyException | SQLTransientConnectionException e) {
+                // Pool or password workers saturated: ask the client to back off rather than queue forever
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                status = 503;
+                body = error(e.getMessage());
+            } catch (SQLException e) {
+                System.err.println("Request " + exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                        + " failed: " + e);
+                // Database unreachable is a temporary outage, anything else is a bug or bad data
+                status = ConnectionPool.isConnectionError(e) ? 503 : 500;
+                body = error(status == 503 ? "Database unavailable" : "Internal server error");
+            } catch (Exception e) {
+                System.err.println("Request " + exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                        + " failed: " + e);
+                status = 500;
+                body = error("Internal server error");
+            }
+            send(exchange, status, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", message == null ? "" : message);
+    }
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Route Interface
+    private interface Route {
+        Object handle(HttpExchange exchange) throws Exception;
+    }
+
+    // HttpError Class (error with the HTTP status to report)
+    private static class HttpError extends Exception {
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
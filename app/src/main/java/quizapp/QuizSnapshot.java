@@ -0,0 +1,16 @@
+package quizapp;
+
+import java.util.List;
+
+// QuizSnapshot Class (immutable copy of a quiz and its questions, see QuizSnapshotCache)
+class QuizSnapshot {
+    protected final int quizId;
+    protected final String title;
+    protected final List<Question> questions;
+
+    public QuizSnapshot(int quizId, String title, List<Question> questions) {
+        this.quizId = quizId;
+        this.title = title;
+        this.questions = List.copyOf(questions);
+    }
+}
@@ -0,0 +1,168 @@
+package quizapp;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+// QuizSnapshotCache Class
+// Shared cache of immutable quiz snapshots keyed by quiz_id. When a whole class opens the same
+// quiz at once only the first request loads it; the others wait for that load instead of
+// running the same query. Entries live at most ttlMillis, and when the cache is full the least
+// recently used entry is evicted.
+class QuizSnapshotCache {
+    // Loader Interface
+    interface Loader {
+        // Returns null if the quiz doesn't exist
+        QuizSnapshot load(int quizId) throws SQLException;
+    }
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Loader loader;
+    private final ConcurrentHashMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public QuizSnapshotCache(int maxSize, long ttlMillis, Loader loader) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.loader = loader;
+    }
+
+    public QuizSnapshot get(int quizId) throws SQLException {
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry entry = entries.get(quizId);
+            if (entry != null) {
+                if (now >= entry.expiresAtMillis) {
+                    if (entries.remove(quizId, entry)) {
+                        expirations.increment();
+                    }
+                    continue;
+                }
+                hits.increment();
+                entry.lastAccessMillis = now;
+                return await(entry);
+            }
+
+            Entry created = new Entry(now + ttlMillis, now);
+            if (entries.putIfAbsent(quizId, created) != null) {
+                continue; // Another thread started loading it first
+            }
+            misses.increment();
+            if (entries.size() > maxSize) {
+                evictLeastRecentlyUsed(quizId);
+            }
+            try {
+                created.snapshot.complete(loader.load(quizId));
+            } catch (SQLException | RuntimeException e) {
+                // Don't cache failures; waiting threads get the error, later calls retry
+                entries.remove(quizId, created);
+                loadFailures.increment();
+                created.snapshot.completeExceptionally(e);
+                throw e;
+            }
+            return created.snapshot.join();
+        }
+    }
+
+    // Call after changing a quiz. A load already in flight still returns the old data to the
+    // threads waiting on it, but every later call loads afresh.
+    public void invalidate(int quizId) {
+        if (entries.remove(quizId) != null) {
+            invalidations.increment();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    private static QuizSnapshot await(Entry entry) throws SQLException {
+        try {
+            return entry.snapshot.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for quiz to load", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        }
+    }
+
+    // A linear scan, but the cache holds at most a few hundred quizzes
+    private void evictLeastRecentlyUsed(int keep) {
+        Map.Entry<Integer, Entry> oldest = null;
+        for (Map.Entry<Integer, Entry> e : entries.entrySet()) {
+            if (e.getKey() != keep
+                    && (oldest == null || e.getValue().lastAccessMillis < oldest.getValue().lastAccessMillis)) {
+                oldest = e;
+            }
+        }
+        if (oldest != null && entries.remove(oldest.getKey(), oldest.getValue())) {
+            evictions.increment();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(entries.size(), hits.sum(), misses.sum(), loadFailures.sum(), evictions.sum(),
+                expirations.sum(), invalidations.sum());
+    }
+
+    // Entry Class
+    private static class Entry {
+        final CompletableFuture<QuizSnapshot> snapshot = new CompletableFuture<>();
+        final long expiresAtMillis;
+        volatile long lastAccessMillis;
+
+        Entry(long expiresAtMillis, long lastAccessMillis) {
+            this.expiresAtMillis = expiresAtMillis;
+            this.lastAccessMillis = lastAccessMillis;
+        }
+    }
+
+    // Stats Class
+    static class Stats {
+        final int size;
+        final long hits;
+        final long misses;
+        final long loadFailures;
+        final long evictions;
+        final long expirations;
+        final long invalidations;
+
+        Stats(int size, long hits, long misses, long loadFailures, long evictions, long expirations,
+                long invalidations) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.loadFailures = loadFailures;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.invalidations = invalidations;
+        }
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "size=%d, hits=%d, misses=%d, hitRate=%.3f, loadFailures=%d, evictions=%d, expirations=%d, invalidations=%d",
+                    size, hits, misses, hitRate(), loadFailures, evictions, expirations, invalidations);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package quizapp;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// QuizSummary Class (a quiz as listed in quiz tables and pickers)
+class QuizSummary {
+    protected final int quizId;
+    protected final String title;
+
+    public QuizSummary(int quizId, String title) {
+        this.quizId = quizId;
+        this.title = title;
+    }
+
+    static QuizSummary fromRow(ResultSet rs) throws SQLException {
+        return new QuizSummary(rs.getInt("quiz_id"), rs.getString("title"));
+    }
+
+    @Override
+    public String toString() {
+        return quizId + ": " + title;
+    }
+}
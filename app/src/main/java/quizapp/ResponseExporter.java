@@ -0,0 +1,362 @@
+package quizapp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+// ResponseExporter Class
+// Writes every answer to a quiz (one row per student and question) to a file for a gradebook.
+// The rows are read through a server-side cursor and written as they arrive through a buffered
+// file channel, so the heap used doesn't depend on how many responses there are. The file is
+// written next to the target under a temporary name and only moved into place once complete;
+// interrupting the exporting thread stops the export and removes the partial file.
+//
+// Columnar format (all integers big-endian):
+//   "QZC1", int column count, then per column: byte type (1 int, 2 string, 3 boolean), string name
+//   row groups of up to ROW_GROUP_SIZE rows: int row count, then each column's values together:
+//     int     - null bitmap ((rows + 7) / 8 bytes, bit set = null), then one int per row
+//     string  - int dictionary size, the distinct values of the group, then one int index per row (-1 = null)
+//     boolean - one byte per row: 0 null, 1 false, 2 true
+//   int 0 (end of row groups), long total rows
+// Strings are an int byte length followed by UTF-8 bytes.
+class ResponseExporter {
+    private static final int FETCH_SIZE = Integer.getInteger("quizapp.export.fetchSize", 1_000);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    static final int ROW_GROUP_SIZE = 8_192;
+
+    static final byte INT = 1;
+    static final byte STRING = 2;
+    static final byte BOOLEAN = 3;
+
+    // Output columns, in the order of the query's select list
+    private static final String[] COLUMN_NAMES = { "response_id", "user_id", "username", "student", "question_id",
+            "question", "answer", "is_correct", "score", "max_score" };
+    private static final byte[] COLUMN_TYPES = { INT, INT, STRING, STRING, INT, STRING, STRING, BOOLEAN, INT, INT };
+
+    // Every question of the quiz for every response, so unanswered questions export as empty answers
+    private static final String EXPORT_SQL = "SELECT r.response_id, u.user_id, u.username, u.name, q.question_id, "
+            + "q.question_text, a.answer, a.is_correct, r.score, r.max_score "
+            + "FROM responses r JOIN users u ON u.user_id = r.user_id JOIN questions q ON q.quiz_id = r.quiz_id "
+            + "LEFT JOIN response_answers a ON a.response_id = r.response_id AND a.question_id = q.question_id "
+            + "WHERE r.quiz_id = ? ORDER BY r.response_id, q.position, q.question_id";
+
+    public enum Format {
+        CSV("csv"), COLUMNAR("qzc");
+
+        final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    private final DatabaseManager databaseManager;
+
+    public ResponseExporter(DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+    }
+
+    // Export the quiz's answers to the target file, replacing it. Returns the number of rows written.
+    public long export(int quizId, Path target, Format format) throws SQLException, IOException {
+        Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), ".export-", ".tmp");
+        try {
+            long rows;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ChannelOutput out = new ChannelOutput(channel);
+                Sink sink = format == Format.CSV ? new CsvSink(out) : new ColumnarSink(out);
+                rows = stream(quizId, sink);
+                sink.finish(rows);
+                out.flush();
+                channel.force(false);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return rows;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private long stream(int quizId, Sink sink) throws SQLException, IOException {
+        try (QueryMetrics.Sample sample = databaseManager.getQueryMetrics().start(EXPORT_SQL);
+                Connection connection = databaseManager.getConnection()) {
+            // PgJDBC only uses a cursor (fetching FETCH_SIZE rows at a time) outside autocommit
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(EXPORT_SQL)) {
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setInt(1, quizId);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            throw new InterruptedIOException("Export cancelled");
+                        }
+                        sink.row(rs);
+                        sample.rows++;
+                    }
+                }
+                return sample.rows;
+            } catch (SQLException e) {
+                sample.failed(e);
+                throw e;
+            } finally {
+                connection.rollback(); // Nothing was written; just end the transaction
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Sink Interface (one output format)
+    private interface Sink {
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void finish(long rows) throws IOException;
+    }
+
+    // CsvSink Class (RFC 4180: quoted only where needed, CRLF line ends, header row)
+    private static class CsvSink implements Sink {
+        private final ChannelOutput out;
+        private final StringBuilder line = new StringBuilder(256);
+
+        CsvSink(ChannelOutput out) throws IOException {
+            this.out = out;
+            for (int i = 0; i < COLUMN_NAMES.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(COLUMN_NAMES[i]);
+            }
+            writeLine();
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < COLUMN_TYPES.length; i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                int column = i + 1;
+                if (COLUMN_TYPES[i] == INT) {
+                    int value = rs.getInt(column);
+                    if (!rs.wasNull()) {
+                        line.append(value);
+                    }
+                } else if (COLUMN_TYPES[i] == BOOLEAN) {
+                    boolean value = rs.getBoolean(column);
+                    if (!rs.wasNull()) {
+                        line.append(value);
+                    }
+                } else {
+                    appendQuoted(rs.getString(column));
+                }
+            }
+            writeLine();
+        }
+
+        private void appendQuoted(String value) {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    line.append('"');
+                }
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void writeLine() throws IOException {
+            line.append("\r\n");
+            out.putBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+            line.setLength(0);
+        }
+
+        @Override
+        public void finish(long rows) {
+        }
+    }
+
+    // ColumnarSink Class (buffers one row group, then writes it column by column)
+    private static class ColumnarSink implements Sink {
+        private final ChannelOutput out;
+        private final int[][] ints = new int[COLUMN_TYPES.length][];
+        private final boolean[][] nulls = new boolean[COLUMN_TYPES.length][];
+        private final String[][] strings = new String[COLUMN_TYPES.length][];
+        private final byte[][] booleans = new byte[COLUMN_TYPES.length][];
+        private int groupRows;
+
+        ColumnarSink(ChannelOutput out) throws IOException {
+            this.out = out;
+            out.putBytes("QZC1".getBytes(StandardCharsets.US_ASCII));
+            out.putInt(COLUMN_TYPES.length);
+            for (int i = 0; i < COLUMN_TYPES.length; i++) {
+                out.putByte(COLUMN_TYPES[i]);
+                out.putString(COLUMN_NAMES[i]);
+                if (COLUMN_TYPES[i] == INT) {
+                    ints[i] = new int[ROW_GROUP_SIZE];
+                    nulls[i] = new boolean[ROW_GROUP_SIZE];
+                } else if (COLUMN_TYPES[i] == STRING) {
+                    strings[i] = new String[ROW_GROUP_SIZE];
+                } else {
+                    booleans[i] = new byte[ROW_GROUP_SIZE];
+                }
+            }
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < COLUMN_TYPES.length; i++) {
+                int column = i + 1;
+                if (COLUMN_TYPES[i] == INT) {
+                    ints[i][groupRows] = rs.getInt(column);
+                    nulls[i][groupRows] = rs.wasNull();
+                } else if (COLUMN_TYPES[i] == STRING) {
+                    strings[i][groupRows] = rs.getString(column);
+                } else {
+                    boolean value = rs.getBoolean(column);
+                    booleans[i][groupRows] = rs.wasNull() ? (byte) 0 : value ? (byte) 2 : (byte) 1;
+                }
+            }
+            if (++groupRows == ROW_GROUP_SIZE) {
+                writeGroup();
+            }
+        }
+
+        private void writeGroup() throws IOException {
+            out.putInt(groupRows);
+            for (int i = 0; i < COLUMN_TYPES.length; i++) {
+                if (COLUMN_TYPES[i] == INT) {
+                    byte[] bitmap = new byte[(groupRows + 7) / 8];
+                    for (int row = 0; row < groupRows; row++) {
+                        if (nulls[i][row]) {
+                            bitmap[row >> 3] |= (byte) (1 << (row & 7));
+                        }
+                    }
+                    out.putBytes(bitmap);
+                    for (int row = 0; row < groupRows; row++) {
+                        out.putInt(ints[i][row]);
+                    }
+                } else if (COLUMN_TYPES[i] == STRING) {
+                    writeDictionary(strings[i]);
+                } else {
+                    out.putBytes(booleans[i], groupRows);
+                }
+            }
+            groupRows = 0;
+        }
+
+        // Question text, names and chosen options repeat a lot within a group; each is stored once
+        private void writeDictionary(String[] values) throws IOException {
+            Map<String, Integer> dictionary = new HashMap<>();
+            int[] indexes = new int[groupRows];
+            for (int row = 0; row < groupRows; row++) {
+                String value = values[row];
+                indexes[row] = value == null ? -1 : dictionary.computeIfAbsent(value, v -> dictionary.size());
+                values[row] = null;
+            }
+            String[] entries = new String[dictionary.size()];
+            dictionary.forEach((value, index) -> entries[index] = value);
+            out.putInt(entries.length);
+            for (String entry : entries) {
+                out.putString(entry);
+            }
+            for (int index : indexes) {
+                out.putInt(index);
+            }
+        }
+
+        @Override
+        public void finish(long rows) throws IOException {
+            if (groupRows > 0) {
+                writeGroup();
+            }
+            out.putInt(0);
+            out.putLong(rows);
+        }
+    }
+
+    // ChannelOutput Class (fixed-size buffer in front of a file channel)
+    private static class ChannelOutput {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        ChannelOutput(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putByte(byte value) throws IOException {
+            ensure(1);
+            buffer.put(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            putBytes(bytes);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            putBytes(bytes, bytes.length);
+        }
+
+        // Values larger than the buffer are written in buffer-sized pieces
+        void putBytes(byte[] bytes, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+                int chunk = Math.min(buffer.remaining(), length - offset);
+                buffer.put(bytes, offset, chunk);
+                offset += chunk;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package quizapp;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.BorderFactory;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+
+// ResponseMatrixFrame Class
+// Every response to a quiz at once: one row per student, one column per question. All answers
+// come from a single query read through a server-side cursor, and rows are added to the table
+// in batches while the rest are still streaming in, so the first students show up right away.
+class ResponseMatrixFrame extends JFrame {
+    private static final int FETCH_SIZE = Integer.getInteger("quizapp.matrix.fetchSize", 500);
+    private static final int PUBLISH_EVERY_ROWS = 200;
+    private static final long PUBLISH_EVERY_NANOS = 100_000_000L;
+
+    private final DatabaseManager databaseManager;
+    private final QuizSummary quiz;
+    private final JLabel statusLabel = new JLabel("Loading responses...");
+    private CompletableFuture<?> pendingLoad;
+
+    public ResponseMatrixFrame(DatabaseManager databaseManager, QuizSummary quiz) {
+        super("All Responses - " + quiz.title);
+        this.databaseManager = databaseManager;
+        this.quiz = quiz;
+
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(20, 30, 20, 30));
+        mainPanel.add(statusLabel, BorderLayout.SOUTH);
+        setContentPane(mainPanel);
+        setSize(900, 600);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        // Column headers come from the (usually cached) quiz snapshot; then the answers stream in
+        pendingLoad = databaseManager.async().run(this, "Database Error", () -> databaseManager.getQuizSnapshot(quiz.quizId),
+                snapshot -> {
+                    if (snapshot == null) {
+                        statusLabel.setText("This quiz no longer exists.");
+                        return;
+                    }
+                    MatrixModel model = new MatrixModel(snapshot.questions);
+                    JTable table = new JTable(model);
+                    table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+                    table.setDefaultRenderer(Object.class, new CorrectnessRenderer(model));
+                    table.getColumnModel().getColumn(0).setPreferredWidth(160);
+                    mainPanel.add(new JScrollPane(table), BorderLayout.CENTER);
+                    mainPanel.revalidate();
+                    loadAnswers(model);
+                });
+    }
+
+    public void display() {
+        setVisible(true);
+    }
+
+    @Override
+    public void dispose() {
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true);
+        }
+        super.dispose();
+    }
+
+    private void loadAnswers(MatrixModel model) {
+        CompletableFuture<Integer> load = databaseManager.async()
+                .submit(() -> databaseManager.inTransaction("responseMatrix", connection -> {
+                    // With autocommit off PgJDBC reads FETCH_SIZE rows at a time instead of the whole result
+                    try (PreparedStatement statement = connection.prepareStatement(
+                            "SELECT r.response_id, u.name, r.score, r.max_score, a.question_id, a.answer, a.is_correct "
+                                    + "FROM responses r JOIN users u ON u.user_id = r.user_id "
+                                    + "LEFT JOIN response_answers a ON a.response_id = r.response_id "
+                                    + "WHERE r.quiz_id = ? ORDER BY u.name, r.response_id")) {
+                        statement.setFetchSize(FETCH_SIZE);
+                        statement.setInt(1, quiz.quizId);
+                        try (ResultSet rs = statement.executeQuery()) {
+                            return stream(rs, model);
+                        }
+                    }
+                }));
+        pendingLoad = load;
+        load.whenComplete((count, error) -> SwingUtilities.invokeLater(() -> {
+            if (load.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                statusLabel.setText("Loading failed.");
+                DatabaseManager.showErrorDialog(this, "Database Error", AsyncDatabase.unwrap(error).getMessage());
+            } else {
+                statusLabel.setText(count + " students");
+            }
+        }));
+    }
+
+    // Runs on the worker thread: fold answer rows into one MatrixRow per response and hand them to
+    // the EDT in batches. Returns the number of students read.
+    private int stream(ResultSet rs, MatrixModel model) throws java.sql.SQLException {
+        // Most answers are one of a few options; sharing the String keeps the rows small
+        Map<String, String> answerPool = new HashMap<>();
+        List<MatrixRow> batch = new ArrayList<>();
+        MatrixRow current = null;
+        int currentResponseId = -1;
+        int students = 0;
+        long lastPublish = System.nanoTime();
+        while (rs.next()) {
+            if (Thread.currentThread().isInterrupted()) {
+                return students; // Window closed
+            }
+            int responseId = rs.getInt(1);
+            if (current == null || responseId != currentResponseId) {
+                current = new MatrixRow(rs.getString(2), score(rs.getObject(3), rs.getObject(4)), model.questionCount());
+                currentResponseId = responseId;
+                batch.add(current);
+                students++;
+            }
+            int column = model.columnOf(rs.getInt(5));
+            if (!rs.wasNull() && column >= 0) {
+                String answer = rs.getString(6);
+                current.answers[column] = answer == null ? null : answerPool.computeIfAbsent(answer, a -> a);
+                boolean correct = rs.getBoolean(7);
+                current.correct[column] = rs.wasNull() ? MatrixRow.UNGRADED : correct ? MatrixRow.RIGHT : MatrixRow.WRONG;
+            }
+            // The last row of the batch may still be receiving answers, so it is published with the next batch
+            if (batch.size() > PUBLISH_EVERY_ROWS || System.nanoTime() - lastPublish > PUBLISH_EVERY_NANOS) {
+                publish(model, new ArrayList<>(batch.subList(0, batch.size() - 1)), students - 1);
+                MatrixRow last = batch.get(batch.size() - 1);
+                batch.clear();
+                batch.add(last);
+                lastPublish = System.nanoTime();
+            }
+        }
+        publish(model, batch, students);
+        return students;
+    }
+
+    private void publish(MatrixModel model, List<MatrixRow> rows, int loaded) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            model.addRows(rows);
+            statusLabel.setText("Loading responses... " + loaded + " students so far");
+        });
+    }
+
+    private static String score(Object score, Object maxScore) {
+        return score == null ? "" : score + " / " + maxScore;
+    }
+
+    // MatrixRow Class (one student's response)
+    private static class MatrixRow {
+        static final byte UNGRADED = 0;
+        static final byte RIGHT = 1;
+        static final byte WRONG = 2;
+
+        final String student;
+        final String score;
+        final String[] answers;
+        final byte[] correct;
+
+        MatrixRow(String student, String score, int questionCount) {
+            this.student = student;
+            this.score = score;
+            this.answers = new String[questionCount];
+            this.correct = new byte[questionCount];
+        }
+    }
+
+    // MatrixModel Class
+    private static class MatrixModel extends AbstractTableModel {
+        private static final int FIXED_COLUMNS = 2; // Student, Score
+
+        private final List<Question> questions;
+        private final Map<Integer, Integer> columnByQuestionId = new HashMap<>();
+        private final List<MatrixRow> rows = new ArrayList<>();
+
+        MatrixModel(List<Question> questions) {
+            this.questions = questions;
+            for (int i = 0; i < questions.size(); i++) {
+                columnByQuestionId.put(questions.get(i).questionId, i);
+            }
+        }
+
+        int questionCount() {
+            return questions.size();
+        }
+
+        // Index into MatrixRow.answers, or -1 for a question no longer in the quiz
+        int columnOf(int questionId) {
+            return columnByQuestionId.getOrDefault(questionId, -1);
+        }
+
+        void addRows(List<MatrixRow> newRows) {
+            int first = rows.size();
+            rows.addAll(newRows);
+            fireTableRowsInserted(first, rows.size() - 1);
+        }
+
+        byte correctnessAt(int row, int column) {
+            return column < FIXED_COLUMNS ? MatrixRow.UNGRADED : rows.get(row).correct[column - FIXED_COLUMNS];
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return FIXED_COLUMNS + questions.size();
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            if (column == 0) {
+                return "Student";
+            }
+            if (column == 1) {
+                return "Score";
+            }
+            String text = questions.get(column - FIXED_COLUMNS).questionText;
+            return "Q" + (column - FIXED_COLUMNS + 1) + ": " + (text.length() > 30 ? text.substring(0, 30) + "..." : text);
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            MatrixRow matrixRow = rows.get(row);
+            if (column == 0) {
+                return matrixRow.student;
+            }
+            if (column == 1) {
+                return matrixRow.score;
+            }
+            return matrixRow.answers[column - FIXED_COLUMNS];
+        }
+    }
+
+    // CorrectnessRenderer Class (green for right answers, red for wrong ones)
+    private static class CorrectnessRenderer extends DefaultTableCellRenderer {
+        private static final Color RIGHT = new Color(0xDFF0D8);
+        private static final Color WRONG = new Color(0xF2DEDE);
+
+        private final MatrixModel model;
+
+        CorrectnessRenderer(MatrixModel model) {
+            this.model = model;
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (!isSelected) {
+                byte correct = model.correctnessAt(table.convertRowIndexToModel(row),
+                        table.convertColumnIndexToModel(column));
+                setBackground(correct == MatrixRow.RIGHT ? RIGHT : correct == MatrixRow.WRONG ? WRONG : table.getBackground());
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package quizapp;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.swing.SwingUtilities;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+// ResponseNotifier Class
+// Pushes response inserts and deletes to open windows. A trigger on responses sends a NOTIFY on the
+// quiz_responses channel for every change (see migrations/006_response_notify.sql); one background
+// thread LISTENs on its own connection, outside the pool, and hands the events to the subscribers
+// of that quiz. Events arriving within COALESCE_MS of each other are delivered as one batch, so a
+// burst of submissions at the end of an exam is one UI update, not hundreds.
+// Whenever the thread (re)connects it tells every subscriber to reload, since events sent while
+// it wasn't listening are lost.
+class ResponseNotifier implements AutoCloseable {
+    static final String CHANNEL = "quiz_responses";
+    private static final long COALESCE_MS = 250;
+    private static final int IDLE_WAIT_MS = 5_000;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    private final SqlTask<Connection> connectionFactory;
+    private final Map<Integer, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    public ResponseNotifier(SqlTask<Connection> connectionFactory) {
+        this.connectionFactory = connectionFactory;
+        thread = new Thread(this::run, "response-notifier");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Listener calls happen on the EDT until the subscription is closed
+    public Subscription subscribe(int quizId, Listener listener) {
+        Subscription subscription = new Subscription(quizId, listener);
+        subscriptions.computeIfAbsent(quizId, id -> new CopyOnWriteArrayList<>()).add(subscription);
+        return subscription;
+    }
+
+    private void run() {
+        long reconnectDelay = 1_000;
+        while (!closed) {
+            try (Connection connection = connectionFactory.run()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // Anything sent before the LISTEN took effect was missed
+                resyncAll();
+                reconnectDelay = 1_000;
+                listen(connection.unwrap(PGConnection.class));
+            } catch (Exception e) {
+                if (closed) {
+                    return;
+                }
+                System.err.println("Response notifications unavailable, retrying in " + reconnectDelay / 1000 + " s: "
+                        + e.getMessage());
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                reconnectDelay = Math.min(MAX_RECONNECT_DELAY_MS, reconnectDelay * 2);
+            }
+        }
+    }
+
+    // Wait for notifications, collecting them per quiz until the coalescing window has passed
+    private void listen(PGConnection connection) throws SQLException {
+        Map<Integer, List<ResponseEvent>> pending = new HashMap<>();
+        long flushAt = 0;
+        while (!closed) {
+            int wait = pending.isEmpty() ? IDLE_WAIT_MS
+                    : (int) Math.max(1, flushAt - System.currentTimeMillis());
+            PGNotification[] notifications = connection.getNotifications(wait);
+            if (notifications != null) {
+                for (PGNotification notification : notifications) {
+                    ResponseEvent event = ResponseEvent.parse(notification.getParameter());
+                    if (event == null || !subscriptions.containsKey(event.quizId)) {
+                        continue;
+                    }
+                    if (pending.isEmpty()) {
+                        flushAt = System.currentTimeMillis() + COALESCE_MS;
+                    }
+                    pending.computeIfAbsent(event.quizId, id -> new ArrayList<>()).add(event);
+                }
+            }
+            if (!pending.isEmpty() && System.currentTimeMillis() >= flushAt) {
+                for (Map.Entry<Integer, List<ResponseEvent>> events : pending.entrySet()) {
+                    for (Subscription subscription : subscriptions.getOrDefault(events.getKey(), List.of())) {
+                        subscription.deliver(events.getValue());
+                    }
+                }
+                pending = new HashMap<>();
+            }
+        }
+    }
+
+    private void resyncAll() {
+        for (List<Subscription> quizSubscriptions : subscriptions.values()) {
+            for (Subscription subscription : quizSubscriptions) {
+                SwingUtilities.invokeLater(() -> {
+                    if (!subscription.closed) {
+                        subscription.listener.resync();
+                    }
+                });
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+    }
+
+    // Listener Interface
+    interface Listener {
+        // A batch of changes to the quiz's responses, in commit order
+        void responsesChanged(List<ResponseEvent> events);
+
+        // Notifications may have been missed; reload from the database
+        void resync();
+    }
+
+    // Subscription Class
+    class Subscription implements AutoCloseable {
+        private final int quizId;
+        private final Listener listener;
+        private volatile boolean closed;
+
+        private Subscription(int quizId, Listener listener) {
+            this.quizId = quizId;
+            this.listener = listener;
+        }
+
+        private void deliver(List<ResponseEvent> events) {
+            SwingUtilities.invokeLater(() -> {
+                if (!closed) {
+                    listener.responsesChanged(events);
+                }
+            });
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            subscriptions.computeIfPresent(quizId, (id, list) -> {
+                list.remove(this);
+                return list.isEmpty() ? null : list;
+            });
+        }
+    }
+
+    // ResponseEvent Class (payload "INSERT|DELETE:quiz_id:response_id:user_id:name")
+    static class ResponseEvent {
+        final boolean inserted;
+        final int quizId;
+        final int responseId;
+        final int userId;
+        final String name; // Empty for deletes
+
+        ResponseEvent(boolean inserted, int quizId, int responseId, int userId, String name) {
+            this.inserted = inserted;
+            this.quizId = quizId;
+            this.responseId = responseId;
+            this.userId = userId;
+            this.name = name;
+        }
+
+        static ResponseEvent parse(String payload) {
+            String[] parts = payload.split(":", 5); // The name may itself contain colons
+            if (parts.length != 5) {
+                return null;
+            }
+            try {
+                return new ResponseEvent(parts[0].equals("INSERT"), Integer.parseInt(parts[1]),
+                        Integer.parseInt(parts[2]), Integer.parseInt(parts[3]), parts[4]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package quizapp;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// ResultSetHandler Interface
+interface ResultSetHandler<T> {
+    T handle(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,9 @@
+package quizapp;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// RowMapper Interface
+interface RowMapper<T> {
+    T mapRow(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,8 @@
+package quizapp;
+
+// ServerBusyException Class (too much work already queued; the caller should retry later)
+class ServerBusyException extends Exception {
+    public ServerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,141 @@
+package quizapp;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// SessionCache Class
+// Bounded, concurrent cache of validated session tokens. Entries expire with the session's
+// expiry_time, but never live longer than maxStaleMillis so a logout done by another process
+// (which can't invalidate this cache) is picked up reasonably quickly.
+class SessionCache {
+    private final int maxSize;
+    private final long maxStaleMillis;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public SessionCache(int maxSize, long maxStaleMillis) {
+        this.maxSize = maxSize;
+        this.maxStaleMillis = maxStaleMillis;
+    }
+
+    // Returns the cached entry, or null if the token isn't cached (or its cache lifetime is over)
+    public Entry get(String token) {
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.cachedUntilMillis && entry.cachedUntilMillis < entry.expiryMillis) {
+            // Stale but the session itself may still be valid; make the caller re-check the database
+            entries.remove(token, entry);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    public void put(String token, User user, long expiryMillis) {
+        if (entries.size() >= maxSize) {
+            makeRoom();
+        }
+        long cachedUntil = Math.min(expiryMillis, System.currentTimeMillis() + maxStaleMillis);
+        entries.put(token, new Entry(user, expiryMillis, cachedUntil));
+    }
+
+    public void invalidate(String token) {
+        entries.remove(token);
+    }
+
+    // Drop every entry whose session or cache lifetime has ended
+    public int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            if (now >= e.getValue().cachedUntilMillis && entries.remove(e.getKey(), e.getValue())) {
+                removed++;
+            }
+        }
+        expirations.add(removed);
+        return removed;
+    }
+
+    // Called when full: purge expired entries, and if that isn't enough evict the tenth of the
+    // cache closest to expiry, so the scan cost is paid once per many insertions
+    private synchronized void makeRoom() {
+        if (entries.size() < maxSize) {
+            return; // Another thread already made room
+        }
+        purgeExpired();
+        if (entries.size() < maxSize) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+        snapshot.sort(Comparator.comparingLong(e -> e.getValue().cachedUntilMillis));
+        int toEvict = Math.max(1, maxSize / 10);
+        for (int i = 0; i < toEvict && i < snapshot.size(); i++) {
+            Map.Entry<String, Entry> e = snapshot.get(i);
+            if (entries.remove(e.getKey(), e.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(entries.size(), hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    // Entry Class
+    static class Entry {
+        final User user;
+        final long expiryMillis;
+        final long cachedUntilMillis;
+
+        Entry(User user, long expiryMillis, long cachedUntilMillis) {
+            this.user = user;
+            this.expiryMillis = expiryMillis;
+            this.cachedUntilMillis = cachedUntilMillis;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiryMillis;
+        }
+    }
+
+    // Stats Class
+    static class Stats {
+        final int size;
+        final long hits;
+        final long misses;
+        final long evictions;
+        final long expirations;
+
+        Stats(int size, long hits, long misses, long evictions, long expirations) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("size=%d, hits=%d, misses=%d, hitRate=%.3f, evictions=%d, expirations=%d", size,
+                    hits, misses, hitRate(), evictions, expirations);
+        }
+    }
+}
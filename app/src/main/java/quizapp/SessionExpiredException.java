@@ -0,0 +1,8 @@
+package quizapp;
+
+// SessionExpiredException Class (User-defined Exception)
+class SessionExpiredException extends Exception {
+    public SessionExpiredException(String message) {
+        super(message);
+    }
+}
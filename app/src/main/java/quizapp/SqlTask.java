@@ -0,0 +1,6 @@
+package quizapp;
+
+// SqlTask Interface
+interface SqlTask<T> {
+    T run() throws Exception;
+}
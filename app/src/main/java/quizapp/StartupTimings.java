@@ -0,0 +1,46 @@
+package quizapp;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// StartupTimings Class
+// Milliseconds from JVM start to each startup phase, in the order they were reached. The phases
+// run on different threads (the login window on the EDT, the database on the startup thread), so
+// the order is whatever actually happened. Printed once startup is done and exported as gauges.
+final class StartupTimings {
+    private static final Map<String, Long> phases = new LinkedHashMap<>(); // phase -> wall-clock ms
+
+    private StartupTimings() {
+    }
+
+    // Only the first mark of a phase counts (a second login window after logout isn't startup)
+    public static synchronized void mark(String phase) {
+        phases.putIfAbsent(phase, System.currentTimeMillis());
+    }
+
+    // Looked up only when reporting: loading the management classes costs tens of milliseconds,
+    // and ProcessHandle's start instant is only accurate to about a second
+    private static long sinceJvmStart(long millis) {
+        return millis - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+
+    public static synchronized String summary() {
+        StringBuilder text = new StringBuilder("Startup (ms since JVM start):");
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            text.append(' ').append(phase.getKey()).append(' ').append(sinceJvmStart(phase.getValue())).append(',');
+        }
+        text.setLength(text.length() - 1);
+        return text.toString();
+    }
+
+    // Prometheus text format
+    public static synchronized String getMetricsText() {
+        StringBuilder text = new StringBuilder("# TYPE quizapp_startup_phase_ms gauge\n");
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            text.append("quizapp_startup_phase_ms{phase=\"").append(phase.getKey()).append("\"} ")
+                    .append(sinceJvmStart(phase.getValue())).append('\n');
+        }
+        return text.toString();
+    }
+}
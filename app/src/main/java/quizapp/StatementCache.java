@@ -0,0 +1,72 @@
+package quizapp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// StatementCache Class
+// LRU cache of prepared statements for a single pooled connection, keyed by SQL text.
+// Not thread-safe: a pooled connection is only ever used by the thread that borrowed it.
+// The hit/miss counters are shared by every connection in the pool.
+class StatementCache {
+    private final Connection connection;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    public StatementCache(Connection connection, int capacity, LongAdder hits, LongAdder misses) {
+        this.connection = connection;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > capacity) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            hits.increment();
+            return statement;
+        }
+        misses.increment();
+        statement = connection.prepareStatement(sql);
+        statements.put(sql, statement);
+        return statement;
+    }
+
+    // Drop a statement that failed so the next call prepares it again
+    public void evict(String sql) {
+        closeQuietly(statements.remove(sql));
+    }
+
+    public void clear() {
+        Iterator<PreparedStatement> it = statements.values().iterator();
+        while (it.hasNext()) {
+            closeQuietly(it.next());
+            it.remove();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        if (statement == null) {
+            return;
+        }
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Statement is being discarded anyway
+        }
+    }
+}
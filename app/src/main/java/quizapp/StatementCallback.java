@@ -0,0 +1,9 @@
+package quizapp;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+// StatementCallback Interface
+interface StatementCallback<T> {
+    T doWithStatement(PreparedStatement statement, QueryMetrics.Sample sample) throws SQLException;
+}
@@ -0,0 +1,16 @@
+package quizapp;
+
+import java.util.Map;
+
+// Submission Class (one student's answers to a quiz, question_id -> answer)
+class Submission {
+    protected final int userId;
+    protected final int quizId;
+    protected final Map<Integer, String> answers;
+
+    public Submission(int userId, int quizId, Map<Integer, String> answers) {
+        this.userId = userId;
+        this.quizId = quizId;
+        this.answers = answers;
+    }
+}
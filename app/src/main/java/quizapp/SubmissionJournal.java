@@ -0,0 +1,233 @@
+package quizapp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// SubmissionJournal Class
+// Append-only local file of quiz submissions not yet written to the database, memory-mapped so an
+// append is a copy into memory plus a flush of just the bytes written. The file is locked for as
+// long as it is open, so two instances on one machine can't share it.
+//
+// Layout: header { int magic, int epoch, long committed offset }, then records
+// { int payload length, int epoch, int CRC32 of the payload, payload }. Records before the
+// committed offset are in the database. When everything is committed the journal starts over at
+// the top under a new epoch. Under steady traffic it rarely is, so once the committed records take
+// up half the file the uncommitted ones are copied back to the top (again under a new epoch) to
+// make room. Recovery stops at the first record that is torn, has a bad checksum or belongs to an
+// older epoch.
+class SubmissionJournal implements AutoCloseable {
+    private static final int MAGIC = 0x515A4A31; // "QZJ1"
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_HEADER_SIZE = 12;
+
+    private final FileChannel channel;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private final List<Record> recovered = new ArrayList<>();
+    private int epoch;
+    private int committedOffset;
+    private int writeOffset;
+    // Records carry positions that don't change when the journal is compacted: position - base is
+    // the offset in the file
+    private long base;
+
+    // Throws IOException if the file can't be opened or another process has it locked
+    public SubmissionJournal(Path file, int capacityBytes) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            lock = tryLock(channel);
+            if (lock == null) {
+                throw new IOException("Submission journal " + file + " is in use by another process");
+            }
+            int capacity = (int) Math.max(capacityBytes, channel.size());
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            writeHeader(1, HEADER_SIZE);
+        }
+        epoch = buffer.getInt(4);
+        committedOffset = (int) buffer.getLong(8);
+        recover();
+    }
+
+    // Null if another process holds the lock; an IOException if this one already does
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            throw new IOException("Submission journal is already open", e);
+        }
+    }
+
+    // Submissions that were journaled but not committed when the journal was last closed
+    public List<Record> recovered() {
+        return recovered;
+    }
+
+    // Returns once the submission is on disk. Throws IOException if the journal is full.
+    public synchronized Record append(Submission submission) throws IOException {
+        byte[] payload = encode(submission);
+        int end = writeOffset + RECORD_HEADER_SIZE + payload.length;
+        if (end > buffer.capacity() && compact()) {
+            end = writeOffset + RECORD_HEADER_SIZE + payload.length;
+        }
+        if (end > buffer.capacity()) {
+            throw new IOException("Submission journal is full");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(writeOffset, payload.length);
+        buffer.putInt(writeOffset + 4, epoch);
+        buffer.putInt(writeOffset + 8, (int) crc.getValue());
+        buffer.put(writeOffset + RECORD_HEADER_SIZE, payload);
+        buffer.force(writeOffset, end - writeOffset);
+        Record record = new Record(submission, base + end);
+        writeOffset = end;
+        return record;
+    }
+
+    // Everything up to and including the record is in the database (records commit in order)
+    public synchronized void committed(Record record) {
+        int endOffset = (int) (record.endPosition - base);
+        if (endOffset == writeOffset) {
+            base += writeOffset - HEADER_SIZE;
+            writeHeader(epoch + 1, HEADER_SIZE); // Empty: start over at the top
+            writeOffset = HEADER_SIZE;
+        } else {
+            writeHeader(epoch, endOffset);
+            if (committedOffset >= buffer.capacity() / 2) {
+                compact();
+            }
+        }
+    }
+
+    // Move the uncommitted records to the top under a new epoch. The copies are on disk before the
+    // header points at them, and they only overwrite committed records, so a crash at any point
+    // recovers either the old or the new copy. Returns false if there's no room to do that safely.
+    private boolean compact() {
+        int liveBytes = writeOffset - committedOffset;
+        if (committedOffset == HEADER_SIZE || HEADER_SIZE + liveBytes > committedOffset) {
+            return false;
+        }
+        int newEpoch = epoch + 1;
+        byte[] live = new byte[liveBytes];
+        buffer.get(committedOffset, live);
+        buffer.put(HEADER_SIZE, live);
+        for (int offset = HEADER_SIZE; offset < HEADER_SIZE + liveBytes;
+                offset += RECORD_HEADER_SIZE + buffer.getInt(offset)) {
+            buffer.putInt(offset + 4, newEpoch);
+        }
+        buffer.force(HEADER_SIZE, liveBytes);
+        base += committedOffset - HEADER_SIZE;
+        writeOffset = HEADER_SIZE + liveBytes;
+        writeHeader(newEpoch, HEADER_SIZE);
+        return true;
+    }
+
+    private void writeHeader(int newEpoch, int newCommittedOffset) {
+        buffer.putInt(4, newEpoch);
+        buffer.putLong(8, newCommittedOffset);
+        buffer.force(0, HEADER_SIZE);
+        epoch = newEpoch;
+        committedOffset = newCommittedOffset;
+    }
+
+    private void recover() throws IOException {
+        int offset = Math.max(HEADER_SIZE, committedOffset);
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > buffer.capacity()
+                    || buffer.getInt(offset + 4) != epoch) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_SIZE, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt(offset + 8)) {
+                break; // Torn write: the submitter never heard back, so nothing is lost
+            }
+            offset += RECORD_HEADER_SIZE + length;
+            recovered.add(new Record(decode(payload), base + offset));
+        }
+        writeOffset = offset;
+    }
+
+    private static byte[] encode(Submission submission) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(submission.userId);
+        out.writeInt(submission.quizId);
+        out.writeInt(submission.answers.size());
+        for (Map.Entry<Integer, String> answer : submission.answers.entrySet()) {
+            out.writeInt(answer.getKey());
+            byte[] text = answer.getValue() == null ? null : answer.getValue().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(text == null ? -1 : text.length);
+            if (text != null) {
+                out.write(text);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Submission decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int userId = in.readInt();
+        int quizId = in.readInt();
+        int count = in.readInt();
+        Map<Integer, String> answers = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            int questionId = in.readInt();
+            int length = in.readInt();
+            String text = null;
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                text = new String(bytes, StandardCharsets.UTF_8);
+            }
+            answers.put(questionId, text);
+        }
+        return new Submission(userId, quizId, answers);
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.release();
+        channel.close();
+    }
+
+    // Record Class (a journaled submission and where its record ends)
+    static class Record {
+        final Submission submission;
+        final long endPosition;
+
+        Record(Submission submission, long endPosition) {
+            this.submission = submission;
+            this.endPosition = endPosition;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package quizapp;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// SubmissionWriter Class
+// Drains journaled submissions into the database on one background thread. Whatever has queued up
+// while the previous batch was being written goes in next, up to batchSize submissions in one
+// transaction, so a burst costs one commit per batch instead of one per student. Inserts skip
+// responses that already exist, which makes replaying the journal after a crash harmless.
+// If a batch fails because the database is unreachable or the transaction lost a conflict, it is
+// retried after a pause. Any other failure is narrowed down by writing the batch one submission at
+// a time; a submission that can never be written (its quiz was deleted, say) is appended to the
+// rejected file and dropped from the journal, so it can't hold up everyone queued behind it.
+// Unchecked exceptions are handled the same way, so nothing short of close() stops the thread.
+class SubmissionWriter implements AutoCloseable {
+    private static final long MAX_RETRY_DELAY_MS = 30_000;
+
+    private final DatabaseManager databaseManager;
+    private final SubmissionJournal journal;
+    private final int batchSize;
+    private final Path rejectedFile;
+    private final BlockingQueue<SubmissionJournal.Record> queue = new LinkedBlockingQueue<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    public SubmissionWriter(DatabaseManager databaseManager, SubmissionJournal journal, int batchSize,
+            Path rejectedFile) {
+        this.databaseManager = databaseManager;
+        this.journal = journal;
+        this.batchSize = batchSize;
+        this.rejectedFile = rejectedFile;
+        for (SubmissionJournal.Record record : journal.recovered()) {
+            enqueue(record);
+        }
+        if (!queue.isEmpty()) {
+            System.out.println("Replaying " + queue.size() + " journaled submissions.");
+        }
+        thread = new Thread(this::run, "submission-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Journal the submission and queue it; returns once it is safe on local disk.
+    // Throws IOException if the journal is full.
+    public void submit(Submission submission) throws IOException {
+        enqueue(journal.append(submission));
+    }
+
+    private void enqueue(SubmissionJournal.Record record) {
+        pending.add(key(record.submission.userId, record.submission.quizId));
+        queue.add(record);
+    }
+
+    // True while the user's submission for the quiz is journaled but not yet in the database
+    public boolean isPending(int userId, int quizId) {
+        return pending.contains(key(userId, quizId));
+    }
+
+    private static long key(int userId, int quizId) {
+        return ((long) userId << 32) | (quizId & 0xFFFFFFFFL);
+    }
+
+    private void run() {
+        List<SubmissionJournal.Record> batch = new ArrayList<>(batchSize);
+        try {
+            while (!closed) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                try {
+                    journal.committed(batch.get(batch.size() - 1));
+                } catch (RuntimeException e) {
+                    // The batch is in the database; at worst it is replayed (and skipped) on the next start
+                    System.err.println("Could not mark " + batch.size() + " submissions as written in the journal: " + e);
+                }
+                for (SubmissionJournal.Record record : batch) {
+                    pending.remove(key(record.submission.userId, record.submission.quizId));
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Closed: anything not yet written stays in the journal for the next start
+        }
+    }
+
+    private void write(List<SubmissionJournal.Record> batch) throws InterruptedException {
+        long retryDelay = 1_000;
+        while (true) {
+            try {
+                databaseManager.insertSubmissions(batch);
+                return;
+            } catch (SQLException | RuntimeException e) {
+                stopIfClosed();
+                if (!isTransient(e)) {
+                    writeEachAlone(batch);
+                    return;
+                }
+                System.err.println("Could not write " + batch.size() + " submissions, retrying in "
+                        + retryDelay / 1000 + " s: " + e.getMessage());
+            }
+            Thread.sleep(retryDelay);
+            retryDelay = Math.min(MAX_RETRY_DELAY_MS, retryDelay * 2);
+        }
+    }
+
+    private void writeEachAlone(List<SubmissionJournal.Record> batch) throws InterruptedException {
+        for (SubmissionJournal.Record record : batch) {
+            long retryDelay = 1_000;
+            while (true) {
+                try {
+                    databaseManager.insertSubmissions(List.of(record));
+                    break;
+                } catch (SQLException | RuntimeException e) {
+                    stopIfClosed();
+                    if (!isTransient(e)) {
+                        reject(record.submission, e);
+                        break;
+                    }
+                }
+                Thread.sleep(retryDelay);
+                retryDelay = Math.min(MAX_RETRY_DELAY_MS, retryDelay * 2);
+            }
+        }
+    }
+
+    // A failure caused by close() interrupting the thread says nothing about the submissions
+    private void stopIfClosed() throws InterruptedException {
+        if (closed) {
+            throw new InterruptedException();
+        }
+    }
+
+    // Connection problems, serialization failures and deadlocks go away if tried again. Anything
+    // unchecked (a bug, bad data) is treated like a permanent SQL error, so it can't stop the writer.
+    static boolean isTransient(Exception error) {
+        if (!(error instanceof SQLException)) {
+            return false;
+        }
+        SQLException e = (SQLException) error;
+        String state = e.getSQLState();
+        return e instanceof SQLTransientException || e instanceof SQLRecoverableException
+                || ConnectionPool.isConnectionError(e) || "40001".equals(state) || "40P01".equals(state);
+    }
+
+    // One JSON object per line, so nothing a student submitted is silently lost
+    private void reject(Submission submission, Exception error) {
+        System.err.println("Rejected submission of user " + submission.userId + " for quiz " + submission.quizId
+                + ": " + (error instanceof SQLException ? error.getMessage() : error));
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("userId", submission.userId);
+        line.put("quizId", submission.quizId);
+        Map<String, Object> answers = new LinkedHashMap<>();
+        for (Map.Entry<Integer, String> answer : submission.answers.entrySet()) {
+            answers.put(String.valueOf(answer.getKey()), answer.getValue());
+        }
+        line.put("answers", answers);
+        line.put("error", error instanceof SQLException ? error.getMessage() : error.toString());
+        try (BufferedWriter writer = Files.newBufferedWriter(rejectedFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(Json.write(line));
+            writer.write('\n');
+        } catch (IOException e) {
+            System.err.println("Could not record rejected submission in " + rejectedFile + ": " + e.getMessage());
+        }
+    }
+
+    // Stops the writer without waiting for the queue to drain; the journal still holds the rest
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        thread.interrupt();
+        try {
+            thread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+}
@@ -0,0 +1,9 @@
+package quizapp;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// TransactionCallback Interface
+interface TransactionCallback<T> {
+    T doInTransaction(Connection connection) throws SQLException;
+}
@@ -0,0 +1,11 @@
+package quizapp;
+
+// User Class (Inheritance)
+class User extends Person {
+    protected int userId;
+
+    public User(int userId, String name, String username, String password, String role) {
+        super(name, username, password, role);
+        this.userId = userId;
+    }
+}
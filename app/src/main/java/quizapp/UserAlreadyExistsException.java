@@ -0,0 +1,8 @@
+package quizapp;
+
+// UserAlreadyExistsException Class (User-defined Exception)
+class UserAlreadyExistsException extends Exception {
+    public UserAlreadyExistsException(String message) {
+        super(message);
+    }
+}
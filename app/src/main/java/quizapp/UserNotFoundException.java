@@ -0,0 +1,8 @@
+package quizapp;
+
+// UserNotFoundException Class (User-defined Exception)
+class UserNotFoundException extends Exception {
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
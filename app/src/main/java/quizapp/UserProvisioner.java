@@ -0,0 +1,186 @@
+package quizapp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// UserProvisioner Class
+// Creates accounts for a whole roster at once. The roster is a CSV file with a header naming the
+// columns name, username and optionally password and role ("student" if empty). Rows without a
+// password get a generated one. Users are created BATCH_SIZE at a time: each batch is one lookup of
+// taken usernames, parallel password hashing, and one INSERT ... ON CONFLICT DO NOTHING. Running the
+// same roster again is safe; users that already exist are reported and left alone.
+class UserProvisioner {
+    private static final int BATCH_SIZE = 500;
+    private static final int GENERATED_PASSWORD_LENGTH = 12;
+    // No 0/O, 1/l/I: generated passwords get read off a printout
+    private static final String PASSWORD_CHARACTERS = "abcdefghjkmnpqrstuvwxyzABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+
+    private final DatabaseManager databaseManager;
+    private final SecureRandom random = new SecureRandom();
+
+    public UserProvisioner(DatabaseManager databaseManager) {
+        this.databaseManager = databaseManager;
+    }
+
+    public Report provision(Path roster) throws IOException, SQLException, ServerBusyException {
+        Report report = new Report();
+        try (BufferedReader reader = Files.newBufferedReader(roster, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            Map<String, Integer> columns = CsvReader.columnsOf(csv.readRecord());
+            if (!columns.containsKey("name") || !columns.containsKey("username")) {
+                throw new IOException("The roster header must name at least the name and username columns");
+            }
+            Set<String> seen = new HashSet<>();
+            List<Entry> batch = new ArrayList<>();
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                Entry entry = toEntry(csv.recordLine(), record, columns);
+                report.entries.add(entry);
+                if (entry.status != null) {
+                    continue; // Invalid
+                }
+                if (!seen.add(entry.user.username)) {
+                    entry.status = Status.DUPLICATE;
+                    entry.message = "Username appears earlier in the roster";
+                    continue;
+                }
+                batch.add(entry);
+                if (batch.size() == BATCH_SIZE) {
+                    createBatch(batch);
+                }
+            }
+            createBatch(batch);
+        }
+        return report;
+    }
+
+    private Entry toEntry(long line, List<String> record, Map<String, Integer> columns) {
+        String name = CsvReader.field(record, columns.get("name"));
+        String username = CsvReader.field(record, columns.get("username"));
+        String password = CsvReader.field(record, columns.get("password"));
+        String role = CsvReader.field(record, columns.get("role"));
+        name = name == null ? null : name.trim();
+        username = username == null ? null : username.trim();
+        role = role == null ? "student" : role.trim().toLowerCase();
+
+        Entry entry = new Entry(line, username);
+        if (name == null || name.isEmpty() || name.length() > 100) {
+            entry.fail("Name must be 1 to 100 characters");
+        } else if (username == null || username.isEmpty() || username.length() > 50) {
+            entry.fail("Username must be 1 to 50 characters");
+        } else if (!role.equals("student") && !role.equals("teacher")) {
+            entry.fail("Role must be student or teacher");
+        } else {
+            if (password == null) {
+                password = generatePassword();
+                entry.generatedPassword = password;
+            }
+            entry.user = new NewUser(name, username, password, role);
+        }
+        return entry;
+    }
+
+    private void createBatch(List<Entry> batch) throws SQLException, ServerBusyException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<NewUser> users = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            users.add(entry.user);
+        }
+        Set<String> created = databaseManager.registerUsers(users);
+        for (Entry entry : batch) {
+            entry.status = created.contains(entry.user.username) ? Status.CREATED : Status.EXISTS;
+            if (entry.status == Status.EXISTS) {
+                entry.generatedPassword = null; // Never became anyone's password
+            }
+            entry.user = null; // Drop the plain-text password
+        }
+        batch.clear();
+    }
+
+    private String generatePassword() {
+        StringBuilder password = new StringBuilder(GENERATED_PASSWORD_LENGTH);
+        for (int i = 0; i < GENERATED_PASSWORD_LENGTH; i++) {
+            password.append(PASSWORD_CHARACTERS.charAt(random.nextInt(PASSWORD_CHARACTERS.length())));
+        }
+        return password.toString();
+    }
+
+    enum Status {
+        CREATED, EXISTS, DUPLICATE, INVALID
+    }
+
+    // Entry Class (one roster row)
+    static class Entry {
+        final long line;
+        final String username;
+        Status status;
+        String message;
+        String generatedPassword;
+        NewUser user;
+
+        Entry(long line, String username) {
+            this.line = line;
+            this.username = username;
+        }
+
+        void fail(String message) {
+            this.status = Status.INVALID;
+            this.message = message;
+        }
+    }
+
+    // Report Class
+    static class Report {
+        final List<Entry> entries = new ArrayList<>();
+
+        public int count(Status status) {
+            int count = 0;
+            for (Entry entry : entries) {
+                if (entry.status == status) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        // CSV with one line per roster row; includes the generated passwords
+        public void write(Path file) throws IOException {
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("line,username,status,generated_password,message\r\n");
+                for (Entry entry : entries) {
+                    writer.write(entry.line + "," + csvField(entry.username) + "," + entry.status.name().toLowerCase() + ","
+                            + csvField(entry.generatedPassword) + "," + csvField(entry.message) + "\r\n");
+                }
+            }
+        }
+
+        private static String csvField(String value) {
+            if (value == null) {
+                return "";
+            }
+            if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return count(Status.CREATED) + " created, " + count(Status.EXISTS) + " already existed, "
+                    + count(Status.DUPLICATE) + " duplicates, " + count(Status.INVALID) + " invalid.";
+        }
+    }
+}
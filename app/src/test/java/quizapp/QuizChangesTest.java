@@ -0,0 +1,171 @@
+package quizapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class QuizChangesTest {
+    // Saved questions with ids 1..count at positions 0..count-1, graded Multiple Choice
+    private static List<QuestionDraft> loaded(int count) {
+        List<QuestionDraft> questions = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            questions.add(saved(id, id - 1));
+        }
+        return questions;
+    }
+
+    private static QuestionDraft saved(int id, int position) {
+        QuestionDraft question = new QuestionDraft(id, "Question " + id, "Multiple Choice", List.of("a", "b"), "a");
+        question.position = position;
+        return question;
+    }
+
+    // What QuizCreator hands back: a fresh copy of each question, in the order shown
+    private static List<QuestionDraft> edited(List<QuestionDraft> loaded, int... ids) {
+        List<QuestionDraft> questions = new ArrayList<>();
+        for (int id : ids) {
+            QuestionDraft before = loaded.get(id - 1);
+            questions.add(new QuestionDraft(before.questionId, before.questionText, before.questionType,
+                    before.options, before.correctAnswer));
+        }
+        return questions;
+    }
+
+    private static List<Integer> ids(List<QuestionDraft> questions) {
+        return questions.stream().map(question -> question.questionId).toList();
+    }
+
+    private static List<Integer> positions(List<QuestionDraft> questions) {
+        return questions.stream().map(question -> question.position).toList();
+    }
+
+    @Test
+    void unchangedQuizHasNothingToWrite() {
+        List<QuestionDraft> loaded = loaded(3);
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Quiz", edited(loaded, 1, 2, 3));
+
+        assertTrue(changes.isEmpty());
+        assertNull(changes.title);
+    }
+
+    @Test
+    void insertAtFrontAddsTheQuestionAndRenumbersTheRest() {
+        List<QuestionDraft> loaded = loaded(3);
+        List<QuestionDraft> edited = edited(loaded, 1, 2, 3);
+        QuestionDraft added = new QuestionDraft("New", "True/False", List.of("True", "False"), "True");
+        edited.add(0, added);
+
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Quiz", edited);
+
+        assertEquals(List.of(added), changes.inserted);
+        assertEquals(0, added.position);
+        // Positions can't go below the first question's, so everything after it moves down one
+        assertEquals(List.of(1, 2, 3), ids(changes.updated));
+        assertEquals(List.of(0, 1, 2, 3), positions(edited));
+        assertTrue(changes.deleted.isEmpty());
+        assertTrue(changes.countingChanged.isEmpty());
+        assertTrue(changes.gradingLost.isEmpty());
+    }
+
+    @Test
+    void moveToTheEndKeepsTheOtherPositions() {
+        List<QuestionDraft> loaded = loaded(5);
+        List<QuestionDraft> edited = edited(loaded, 2, 3, 4, 5, 1);
+
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Quiz", edited);
+
+        assertEquals(List.of(1), ids(changes.updated));
+        assertEquals(List.of(1, 2, 3, 4, 5), positions(edited));
+        assertTrue(changes.inserted.isEmpty());
+        assertTrue(changes.deleted.isEmpty());
+    }
+
+    @Test
+    void swapRenumbersFromZeroWhenThatMovesFewerQuestions() {
+        List<QuestionDraft> loaded = loaded(5);
+        List<QuestionDraft> edited = edited(loaded, 2, 1, 3, 4, 5);
+
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Quiz", edited);
+
+        // Keeping positions would push 1, 3, 4 and 5 along; numbering from 0 only moves 1 and 2
+        assertEquals(List.of(2, 1), ids(changes.updated));
+        assertEquals(List.of(0, 1, 2, 3, 4), positions(edited));
+    }
+
+    @Test
+    void deleteFromTheMiddleLeavesAGap() {
+        List<QuestionDraft> loaded = loaded(3);
+        List<QuestionDraft> edited = edited(loaded, 1, 3);
+
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Quiz", edited);
+
+        assertEquals(List.of(2), changes.deleted);
+        assertTrue(changes.gradedQuestionDeleted);
+        assertTrue(changes.updated.isEmpty());
+        assertEquals(List.of(0, 2), positions(edited));
+    }
+
+    @Test
+    void deletingAnUngradedQuestionDoesNotAffectScores() {
+        List<QuestionDraft> loaded = loaded(3);
+        loaded.get(1).correctAnswer = null;
+
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Quiz", edited(loaded, 1, 3));
+
+        assertEquals(List.of(2), changes.deleted);
+        assertFalse(changes.gradedQuestionDeleted);
+    }
+
+    @Test
+    void changingToShortAnswerStopsCountingAndGrading() {
+        List<QuestionDraft> loaded = loaded(2);
+        List<QuestionDraft> edited = edited(loaded, 1, 2);
+        edited.get(1).questionType = "Short Answer";
+        edited.get(1).options = List.of();
+        edited.get(1).correctAnswer = null;
+
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Quiz", edited);
+
+        assertEquals(List.of(2), ids(changes.updated));
+        assertEquals(Set.of(2), changes.countingChanged);
+        assertEquals(Set.of(2), changes.gradingLost);
+    }
+
+    @Test
+    void changingToTrueFalseStartsCounting() {
+        List<QuestionDraft> loaded = loaded(2);
+        loaded.get(0).questionType = "Short Answer";
+        loaded.get(0).options = List.of();
+        loaded.get(0).correctAnswer = null;
+        List<QuestionDraft> edited = edited(loaded, 1, 2);
+        edited.get(0).questionType = "True/False";
+        edited.get(0).options = List.of("True", "False");
+        edited.get(0).correctAnswer = "False";
+
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Quiz", edited);
+
+        assertEquals(List.of(1), ids(changes.updated));
+        assertEquals(Set.of(1), changes.countingChanged);
+        assertTrue(changes.gradingLost.isEmpty());
+    }
+
+    @Test
+    void clearingTheKeyLosesGradingButKeepsCounting() {
+        List<QuestionDraft> loaded = loaded(1);
+        List<QuestionDraft> edited = edited(loaded, 1);
+        edited.get(0).correctAnswer = null;
+
+        QuizChanges changes = QuizChanges.between("Quiz", loaded, "Renamed", edited);
+
+        assertEquals("Renamed", changes.title);
+        assertEquals(List.of(1), ids(changes.updated));
+        assertTrue(changes.countingChanged.isEmpty());
+        assertEquals(Set.of(1), changes.gradingLost);
+    }
+}
@@ -0,0 +1,147 @@
+package quizapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SubmissionJournalTest {
+    // Header, then records of RECORD_SIZE bytes for the submissions below
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 12 + 21;
+
+    @TempDir
+    Path dir;
+
+    private static Submission submission(int userId) {
+        return new Submission(userId, 7, Map.of(1, "a"));
+    }
+
+    private static List<Integer> recoveredUsers(SubmissionJournal journal) {
+        return journal.recovered().stream().map(record -> record.submission.userId).toList();
+    }
+
+    @Test
+    void recoversOnlyUncommittedRecords() throws IOException {
+        Path file = dir.resolve("journal");
+        try (SubmissionJournal journal = new SubmissionJournal(file, 4096)) {
+            SubmissionJournal.Record first = journal.append(submission(1));
+            journal.append(submission(2));
+            journal.append(submission(3));
+            journal.committed(first);
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(file, 4096)) {
+            assertEquals(List.of(2, 3), recoveredUsers(journal));
+            assertEquals(Map.of(1, "a"), journal.recovered().get(0).submission.answers);
+        }
+    }
+
+    @Test
+    void stopsAtTornRecord() throws IOException {
+        Path file = dir.resolve("journal");
+        try (SubmissionJournal journal = new SubmissionJournal(file, 4096)) {
+            journal.append(submission(1));
+            journal.append(submission(2));
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            int lastPayloadByte = HEADER_SIZE + 2 * RECORD_SIZE - 1;
+            raw.seek(lastPayloadByte);
+            int value = raw.read();
+            raw.seek(lastPayloadByte);
+            raw.write(value ^ 0xFF);
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(file, 4096)) {
+            assertEquals(List.of(1), recoveredUsers(journal));
+        }
+    }
+
+    @Test
+    void ignoresRecordsFromAnOlderEpoch() throws IOException {
+        Path file = dir.resolve("journal");
+        try (SubmissionJournal journal = new SubmissionJournal(file, 4096)) {
+            journal.append(submission(1));
+            journal.committed(journal.append(submission(2))); // Starts over at the top
+            journal.append(submission(3)); // Overwrites record 1; record 2 is still behind it
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(file, 4096)) {
+            assertEquals(List.of(3), recoveredUsers(journal));
+        }
+    }
+
+    @Test
+    void compactsWhenTheWriterNeverCatchesUp() throws IOException {
+        Path file = dir.resolve("journal");
+        int capacity = HEADER_SIZE + 10 * RECORD_SIZE;
+        try (SubmissionJournal journal = new SubmissionJournal(file, capacity)) {
+            SubmissionJournal.Record previous = journal.append(submission(0));
+            for (int userId = 1; userId < 100; userId++) {
+                SubmissionJournal.Record record = journal.append(submission(userId));
+                journal.committed(previous); // Always one record behind
+                previous = record;
+            }
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(file, capacity)) {
+            assertEquals(List.of(99), recoveredUsers(journal));
+        }
+    }
+
+    @Test
+    void recoversRecordsAppendedAfterCompaction() throws IOException {
+        Path file = dir.resolve("journal");
+        int capacity = HEADER_SIZE + 4 * RECORD_SIZE;
+        try (SubmissionJournal journal = new SubmissionJournal(file, capacity)) {
+            journal.append(submission(1));
+            SubmissionJournal.Record second = journal.append(submission(2));
+            journal.append(submission(3));
+            journal.committed(second); // Half the file is committed: record 3 moves to the top
+            journal.append(submission(4));
+            journal.append(submission(5));
+            journal.append(submission(6));
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(file, capacity)) {
+            assertEquals(List.of(3, 4, 5, 6), recoveredUsers(journal));
+        }
+    }
+
+    // Less than half the file is committed, so committed() leaves it alone; the next append that
+    // doesn't fit moves the uncommitted records to the top and goes in after them
+    @Test
+    void appendToAFullFileCompactsTheCommittedPrefix() throws IOException {
+        Path file = dir.resolve("journal");
+        int capacity = HEADER_SIZE + 5 * RECORD_SIZE - 1;
+        try (SubmissionJournal journal = new SubmissionJournal(file, capacity)) {
+            journal.append(submission(1));
+            SubmissionJournal.Record second = journal.append(submission(2));
+            journal.append(submission(3));
+            journal.append(submission(4));
+            journal.committed(second);
+            journal.append(submission(5));
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(file, capacity)) {
+            assertEquals(List.of(3, 4, 5), recoveredUsers(journal));
+        }
+    }
+
+    @Test
+    void appendToAFullFileFailsWhenCompactingWouldOverwriteUncommittedRecords() throws IOException {
+        Path file = dir.resolve("journal");
+        int capacity = HEADER_SIZE + 5 * RECORD_SIZE - 1;
+        try (SubmissionJournal journal = new SubmissionJournal(file, capacity)) {
+            SubmissionJournal.Record first = journal.append(submission(1));
+            journal.append(submission(2));
+            journal.append(submission(3));
+            journal.append(submission(4));
+            journal.committed(first);
+            assertThrows(IOException.class, () -> journal.append(submission(5)));
+        }
+        try (SubmissionJournal journal = new SubmissionJournal(file, capacity)) {
+            assertEquals(List.of(2, 3, 4), recoveredUsers(journal));
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package quizapp;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// ExamDayLoadTest Class
+// Simulates an exam: N students arrive according to an arrival curve and each one goes through
+// login -> validateSession -> load questions -> submitResponses against DatabaseManager, pausing
+// for a random think time between steps. Reports p50/p99/p99.9 latency and throughput for each
+// operation and writes them to a JSON file so runs can be compared.
+//
+// --setup creates the students (loadtest_student_<n>) and a quiz, and clears earlier responses
+// to that quiz so every student can submit again. Hashing is deliberately slow; for big runs
+// add -Dquizapp.password.iterations=1000 to both the setup and the test run.
+//
+// Usage: java -cp benchmarks.jar quizapp.ExamDayLoadTest [--students=500] [--arrival=ramp:60|burst|poisson:<per second>]
+//        [--think-ms=2000] [--quiz=<id>] [--questions=20] [--setup] [--out=loadtest-results.json]
+public class ExamDayLoadTest {
+    private static final String PASSWORD = "loadtest";
+    private static final String QUIZ_TITLE = "Load test quiz";
+    private static final String[] STEPS = { "login", "validateSession", "loadQuestions", "submitResponses" };
+
+    private final DatabaseManager databaseManager;
+    private final int quizId;
+    private final long thinkMillis;
+    private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private ExamDayLoadTest(DatabaseManager databaseManager, int quizId, long thinkMillis) {
+        this.databaseManager = databaseManager;
+        this.quizId = quizId;
+        this.thinkMillis = thinkMillis;
+        for (String step : STEPS) {
+            latencies.put(step, new LatencyHistogram());
+        }
+        latencies.put("session", new LatencyHistogram());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int students = Integer.parseInt(options.getOrDefault("students", "500"));
+        String arrival = options.getOrDefault("arrival", "ramp:60");
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "2000"));
+        int questionCount = Integer.parseInt(options.getOrDefault("questions", "20"));
+        Path out = Paths.get(options.getOrDefault("out", "loadtest-results.json"));
+
+        try (DatabaseManager databaseManager = new DatabaseManager()) {
+            int quizId = options.containsKey("quiz") ? Integer.parseInt(options.get("quiz"))
+                    : findOrCreateQuiz(databaseManager, questionCount);
+            if (options.containsKey("setup")) {
+                setup(databaseManager, students, quizId);
+            }
+
+            ExamDayLoadTest test = new ExamDayLoadTest(databaseManager, quizId, thinkMillis);
+            System.out.printf("Running %d students against quiz %d, arrival %s, think time %d ms%n", students,
+                    quizId, arrival, thinkMillis);
+            long elapsedNanos = test.run(students, arrival);
+            String report = test.report(students, arrival, elapsedNanos);
+            Files.write(out, report.getBytes(StandardCharsets.UTF_8));
+            System.out.println("Results written to " + out.toAbsolutePath());
+        }
+    }
+
+    // Start one task per student at its arrival time and wait for all of them to finish
+    private long run(int students, String arrival) throws InterruptedException {
+        long[] offsets = arrivalOffsetsNanos(students, arrival);
+        ExecutorService executor = AsyncDatabase.newTaskExecutor("student");
+        long start = System.nanoTime();
+        for (int i = 0; i < students; i++) {
+            long wait = start + offsets[i] - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            int student = i;
+            executor.execute(() -> simulateStudent(student));
+        }
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.DAYS);
+        return System.nanoTime() - start;
+    }
+
+    private void simulateStudent(int student) {
+        long sessionStart = System.nanoTime();
+        try {
+            String token = timed("login", () -> databaseManager.loginUser(username(student), PASSWORD));
+            think();
+            User user = timed("validateSession", () -> databaseManager.validateSession(token));
+            // Same work as QuizAttender.loadQuestions
+            List<Question> questions = timed("loadQuestions", () -> {
+                if (databaseManager.hasAttended(user.userId, quizId)) {
+                    throw new IllegalStateException("already attended");
+                }
+                QuizSnapshot quiz = databaseManager.getQuizSnapshot(quizId);
+                if (quiz == null) {
+                    throw new IllegalStateException("quiz " + quizId + " not found");
+                }
+                return quiz.questions;
+            });
+            think();
+            Map<Integer, String> answers = new HashMap<>();
+            for (Question question : questions) {
+                answers.put(question.questionId, answerFor(question));
+            }
+            timed("submitResponses", () -> databaseManager.submitResponses(user.userId, quizId, answers));
+            latencies.get("session").record((System.nanoTime() - sessionStart) / 1_000);
+        } catch (Exception e) {
+            // Already counted against the step that failed; the student gives up
+        }
+    }
+
+    private <T> T timed(String step, SqlTask<T> task) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T result = task.run();
+            latencies.get(step).record((System.nanoTime() - start) / 1_000);
+            return result;
+        } catch (Exception e) {
+            errors.computeIfAbsent(step + ": " + e.getClass().getSimpleName(), k -> new LongAdder()).increment();
+            throw e;
+        }
+    }
+
+    // Exponentially distributed pause with the configured mean
+    private void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            double pause = -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * thinkMillis;
+            Thread.sleep(Math.min((long) pause, thinkMillis * 10));
+        }
+    }
+
+    private static String answerFor(Question question) {
+        if (!question.options.isEmpty()) {
+            return question.options.get(ThreadLocalRandom.current().nextInt(question.options.size()));
+        }
+        return "True/False".equals(question.questionType) ? "True" : "Load test answer";
+    }
+
+    // burst: everyone at once; ramp:<seconds>: evenly spread; poisson:<rate>: random arrivals at rate per second
+    static long[] arrivalOffsetsNanos(int students, String arrival) {
+        long[] offsets = new long[students];
+        String[] parts = arrival.split(":");
+        switch (parts[0]) {
+            case "burst":
+                break;
+            case "ramp":
+                long rampNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(parts[1]));
+                for (int i = 0; i < students; i++) {
+                    offsets[i] = rampNanos * i / students;
+                }
+                break;
+            case "poisson":
+                double ratePerSecond = Double.parseDouble(parts[1]);
+                Random random = new Random(42); // Fixed seed so runs are comparable
+                double at = 0;
+                for (int i = 0; i < students; i++) {
+                    offsets[i] = (long) (at * 1e9);
+                    at += -Math.log(1 - random.nextDouble()) / ratePerSecond;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown arrival curve: " + arrival);
+        }
+        return offsets;
+    }
+
+    private String report(int students, String arrival, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        System.out.printf("%-16s %8s %10s %10s %10s %10s %10s%n", "operation", "count", "ops/s", "p50 ms",
+                "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.getCount());
+            stats.put("throughputPerSecond", round(histogram.getCount() / seconds));
+            stats.put("meanMs", round(histogram.getMean() / 1000));
+            stats.put("p50Ms", round(histogram.percentile(50) / 1000.0));
+            stats.put("p99Ms", round(histogram.percentile(99) / 1000.0));
+            stats.put("p999Ms", round(histogram.percentile(99.9) / 1000.0));
+            stats.put("maxMs", round(histogram.getMax() / 1000.0));
+            operations.put(entry.getKey(), stats);
+            System.out.printf("%-16s %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", entry.getKey(), histogram.getCount(),
+                    histogram.getCount() / seconds, histogram.percentile(50) / 1000.0,
+                    histogram.percentile(99) / 1000.0, histogram.percentile(99.9) / 1000.0,
+                    histogram.getMax() / 1000.0);
+        }
+        Map<String, Object> errorCounts = new LinkedHashMap<>();
+        errors.forEach((key, count) -> errorCounts.put(key, count.sum()));
+        if (!errorCounts.isEmpty()) {
+            System.out.println("Errors: " + errorCounts);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("timestamp", java.time.Instant.now().toString());
+        result.put("students", students);
+        result.put("quizId", quizId);
+        result.put("arrival", arrival);
+        result.put("thinkMillis", thinkMillis);
+        result.put("elapsedSeconds", round(seconds));
+        result.put("operations", operations);
+        result.put("errors", errorCounts);
+        result.put("pool", databaseManager.getPoolStats().toString());
+        result.put("sessionCache", databaseManager.getSessionCacheStats().toString());
+        result.put("quizCache", databaseManager.getQuizCacheStats().toString());
+        return Json.write(result);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String username(int student) {
+        return "loadtest_student_" + student;
+    }
+
+    private static int findOrCreateQuiz(DatabaseManager databaseManager, int questionCount) throws Exception {
+        Integer existing = databaseManager.queryForObject(
+                "SELECT quiz_id FROM quizzes WHERE title = ? ORDER BY quiz_id DESC LIMIT 1", rs -> rs.getInt(1),
+                QUIZ_TITLE);
+        if (existing != null) {
+            return existing;
+        }
+        List<QuestionDraft> questions = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            questions.add(i % 2 == 0
+                    ? new QuestionDraft("Load test question " + i, "Multiple Choice",
+                            Arrays.asList("Option A", "Option B", "Option C", "Option D"), "Option B")
+                    : new QuestionDraft("Load test question " + i, "True/False", Arrays.asList("True", "False"),
+                            "True"));
+        }
+        return databaseManager.saveQuiz(QUIZ_TITLE, questions);
+    }
+
+    // Register any missing students in bulk (batched upserts, passwords hashed in parallel) and
+    // clear old responses
+    private static void setup(DatabaseManager databaseManager, int students, int quizId) throws Exception {
+        System.out.println("Setting up " + students + " students...");
+        int created = 0;
+        List<NewUser> batch = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            batch.add(new NewUser("Load Test Student " + i, username(i), PASSWORD, "student"));
+            if (batch.size() == 500 || i == students - 1) {
+                created += databaseManager.registerUsers(batch).size();
+                batch.clear();
+            }
+        }
+        int cleared = databaseManager.executeUpdate(
+                "DELETE FROM responses WHERE quiz_id = ? AND user_id IN (SELECT user_id FROM users WHERE username LIKE 'loadtest\\_student\\_%')",
+                quizId);
+        databaseManager.rebuildAnswerCounts(quizId); // The DELETE above bypassed the counters
+        System.out.printf("Created %d students, cleared %d earlier responses%n", created, cleared);
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+}
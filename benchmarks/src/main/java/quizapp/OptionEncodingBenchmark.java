@@ -0,0 +1,46 @@
+package quizapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// OptionEncodingBenchmark Class
+// The "~" encoding of options in questions.options: String.join when a quiz is saved, split
+// when a question is read back.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class OptionEncodingBenchmark {
+    @Param({ "4", "20" })
+    int optionCount;
+
+    List<String> options;
+    String encoded;
+
+    @Setup
+    public void setUp() {
+        options = new ArrayList<>();
+        for (int i = 0; i < optionCount; i++) {
+            options.add("Option number " + i);
+        }
+        encoded = String.join("~", options);
+    }
+
+    @Benchmark
+    public String join() {
+        return String.join("~", options);
+    }
+
+    @Benchmark
+    public String[] split() {
+        return encoded.split("~");
+    }
+}
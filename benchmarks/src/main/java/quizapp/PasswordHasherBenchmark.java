@@ -0,0 +1,62 @@
+package quizapp;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// PasswordHasherBenchmark Class
+// Cost of hashing and verifying a password with the legacy MD5 hasher and with PBKDF2 at several
+// iteration counts, to pick quizapp.password.iterations for the hardware the server runs on.
+// Does not need a database.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PasswordHasherBenchmark {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @State(Scope.Benchmark)
+    public static class Md5 {
+        final LegacyMd5PasswordHasher hasher = new LegacyMd5PasswordHasher();
+        final String stored = hasher.hash(PASSWORD);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Pbkdf2 {
+        @Param({ "10000", "310000" })
+        int iterations;
+
+        Pbkdf2PasswordHasher hasher;
+        String stored;
+
+        @Setup
+        public void setUp() {
+            hasher = new Pbkdf2PasswordHasher(iterations);
+            stored = hasher.hash(PASSWORD);
+        }
+    }
+
+    @Benchmark
+    public String md5Hash(Md5 state) {
+        return state.hasher.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean md5Verify(Md5 state) {
+        return state.hasher.verify(PASSWORD, state.stored);
+    }
+
+    @Benchmark
+    public String pbkdf2Hash(Pbkdf2 state) {
+        return state.hasher.hash(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean pbkdf2Verify(Pbkdf2 state) {
+        return state.hasher.verify(PASSWORD, state.stored);
+    }
+}
@@ -0,0 +1,47 @@
+package quizapp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// QuestionParsingBenchmark Class
+// Turning questions rows into what the student sees: parsing the options into a Question, and
+// building the QuestionSheet (Swing components, created headless) for a whole quiz.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class QuestionParsingBenchmark {
+    String options = "Paris~London~Berlin~Madrid";
+    List<Question> questions;
+
+    @Param({ "10", "1000" })
+    int questionCount;
+
+    @Setup
+    public void setUp() {
+        questions = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            questions.add(new Question(i, "What is the capital of France?", "Multiple Choice", options));
+        }
+    }
+
+    @Benchmark
+    public Question parseOptions() {
+        return new Question(1, "What is the capital of France?", "Multiple Choice", options);
+    }
+
+    @Benchmark
+    public QuestionSheet buildSheet() {
+        return new QuestionSheet(questions);
+    }
+}
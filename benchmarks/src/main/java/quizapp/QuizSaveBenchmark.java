@@ -0,0 +1,105 @@
+package quizapp;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// QuizSaveBenchmark Class
+// Compares the old per-row quiz save (autocommit INSERT, SELECT currval, one INSERT per question)
+// with DatabaseManager.saveQuiz (INSERT ... RETURNING plus one batch in a single transaction).
+// Needs the quizapp database running locally; every quiz it creates is deleted again.
+//
+// Usage: java -cp benchmarks.jar quizapp.QuizSaveBenchmark [questionsPerQuiz] [iterations]
+public class QuizSaveBenchmark {
+    public static void main(String[] args) throws Exception {
+        int questionCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int warmup = Math.max(1, iterations / 4);
+
+        List<QuestionDraft> questions = new ArrayList<>();
+        for (int i = 0; i < questionCount; i++) {
+            questions.add(new QuestionDraft("Benchmark question " + i, "Multiple Choice",
+                    Arrays.asList("Option A", "Option B", "Option C", "Option D"), "Option B"));
+        }
+
+        try (DatabaseManager databaseManager = new DatabaseManager()) {
+            List<Integer> createdQuizzes = new ArrayList<>();
+            try {
+                long[] perRow = run(warmup, iterations, () -> createdQuizzes.add(saveQuizPerRow(databaseManager,
+                        "Benchmark per-row", questions)));
+                long[] batched = run(warmup, iterations,
+                        () -> createdQuizzes.add(databaseManager.saveQuiz("Benchmark batched", questions)));
+
+                System.out.printf("Saving a quiz with %d questions, %d iterations%n", questionCount, iterations);
+                report("per-row", perRow);
+                report("batched", batched);
+            } finally {
+                for (int quizId : createdQuizzes) {
+                    databaseManager.executeUpdate("DELETE FROM questions WHERE quiz_id = ?", quizId);
+                    databaseManager.executeUpdate("DELETE FROM quizzes WHERE quiz_id = ?", quizId);
+                }
+            }
+        }
+    }
+
+    // The save path QuizCreator used before the batched transaction, on one connection
+    private static int saveQuizPerRow(DatabaseManager databaseManager, String title, List<QuestionDraft> questions)
+            throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO quizzes (title) VALUES (?)")) {
+                statement.setString(1, title);
+                statement.executeUpdate();
+            }
+            int quizId;
+            try (PreparedStatement statement = connection
+                    .prepareStatement("SELECT currval('quizzes_quiz_id_seq') AS quiz_id");
+                    ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                quizId = rs.getInt("quiz_id");
+            }
+            for (QuestionDraft question : questions) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "INSERT INTO questions (quiz_id, question_text, question_type, options) VALUES (?, ?, ?, ?)")) {
+                    statement.setInt(1, quizId);
+                    statement.setString(2, question.questionText);
+                    statement.setString(3, question.questionType);
+                    statement.setString(4, String.join("~", question.options));
+                    statement.executeUpdate();
+                }
+            }
+            return quizId;
+        }
+    }
+
+    private static long[] run(int warmup, int iterations, Task task) throws SQLException {
+        for (int i = 0; i < warmup; i++) {
+            task.run();
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            task.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static void report(String name, long[] sortedNanos) {
+        long total = 0;
+        for (long n : sortedNanos) {
+            total += n;
+        }
+        System.out.printf("%-8s mean %8.2f ms   p50 %8.2f ms   max %8.2f ms%n", name,
+                total / (double) sortedNanos.length / 1e6, sortedNanos[sortedNanos.length / 2] / 1e6,
+                sortedNanos[sortedNanos.length - 1] / 1e6);
+    }
+
+    private interface Task {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,76 @@
+package quizapp;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import javax.swing.table.DefaultTableModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// TableModelBenchmark Class
+// Mapping a quizzes result set into table rows: QuizSummary.fromRow over a page, as
+// PagedQuizTableModel gets it from DatabaseManager.findQuizzes, and the same rows into a
+// DefaultTableModel, as the quiz table was filled before it was paged.
+// The rows come from an in-memory CachedRowSet, so this measures the mapping, not the database.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TableModelBenchmark {
+    @Param({ "100", "10000" })
+    int rows;
+
+    CachedRowSet resultSet;
+
+    @Setup
+    public void setUp() throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(2);
+        metaData.setColumnName(1, "quiz_id");
+        metaData.setColumnType(1, Types.INTEGER);
+        metaData.setColumnName(2, "title");
+        metaData.setColumnType(2, Types.VARCHAR);
+
+        resultSet = RowSetProvider.newFactory().createCachedRowSet();
+        resultSet.setMetaData(metaData);
+        for (int i = 1; i <= rows; i++) {
+            resultSet.moveToInsertRow();
+            resultSet.updateInt(1, i);
+            resultSet.updateString(2, "Quiz number " + i);
+            resultSet.insertRow();
+        }
+        resultSet.moveToCurrentRow();
+    }
+
+    @Benchmark
+    public List<QuizSummary> toPage() throws SQLException {
+        resultSet.beforeFirst();
+        List<QuizSummary> page = new ArrayList<>();
+        while (resultSet.next()) {
+            page.add(QuizSummary.fromRow(resultSet));
+        }
+        return page;
+    }
+
+    @Benchmark
+    public DefaultTableModel toTableModel() throws SQLException {
+        resultSet.beforeFirst();
+        DefaultTableModel model = new DefaultTableModel();
+        model.addColumn("Quiz ID");
+        model.addColumn("Title");
+        while (resultSet.next()) {
+            model.addRow(new Object[] { resultSet.getInt("quiz_id"), resultSet.getString("title") });
+        }
+        return model;
+    }
+}
@@ -0,0 +1,3 @@
+-- PBKDF2 hashes ($pbkdf2-sha256$<iterations>$<salt>$<hash>) are longer than the old
+-- 32-character MD5 hex digests. Existing MD5 rows are rehashed on each user's next login.
+ALTER TABLE users ALTER COLUMN password TYPE VARCHAR(255);
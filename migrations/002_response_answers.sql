@@ -0,0 +1,26 @@
+-- Move answers out of the "~"-joined responses.answers string into one row per question.
+CREATE TABLE response_answers (
+    response_id INTEGER REFERENCES responses(response_id) ON DELETE CASCADE,
+    question_id INTEGER REFERENCES questions(question_id) ON DELETE CASCADE,
+    answer TEXT,
+    PRIMARY KEY (response_id, question_id)
+);
+CREATE INDEX response_answers_question_id_idx ON response_answers (question_id);
+
+-- The old viewer paired the n-th answer with the n-th question of the quiz; do the same here,
+-- ordering questions by question_id (insertion order).
+INSERT INTO response_answers (response_id, question_id, answer)
+SELECT r.response_id, q.question_id, a.answer
+FROM responses r
+CROSS JOIN LATERAL unnest(string_to_array(r.answers, '~')) WITH ORDINALITY AS a(answer, position)
+JOIN LATERAL (
+    SELECT question_id, row_number() OVER (ORDER BY question_id) AS position
+    FROM questions
+    WHERE quiz_id = r.quiz_id
+) q ON q.position = a.position
+WHERE r.answers IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+-- New responses no longer write this column. Drop it once the copied answers have been checked:
+-- ALTER TABLE responses DROP COLUMN answers;
+ALTER TABLE responses ALTER COLUMN answers DROP NOT NULL;
@@ -0,0 +1,11 @@
+-- Answer keys and stored scores for auto-grading of True/False and Multiple Choice questions.
+-- key_version is bumped whenever a key changes; graded_key_version records the version the
+-- question's answers were last graded against, so re-grading only touches changed questions.
+ALTER TABLE questions ADD COLUMN correct_answer TEXT;
+ALTER TABLE questions ADD COLUMN key_version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE questions ADD COLUMN graded_key_version INTEGER;
+
+ALTER TABLE response_answers ADD COLUMN is_correct BOOLEAN;
+
+ALTER TABLE responses ADD COLUMN score INTEGER;
+ALTER TABLE responses ADD COLUMN max_score INTEGER;
@@ -0,0 +1,4 @@
+-- Case-insensitive title prefix search for the quiz table and quiz pickers
+-- (lower(title) LIKE 'abc%'). text_pattern_ops makes LIKE prefix matches indexable whatever
+-- the database collation is.
+CREATE INDEX quizzes_title_prefix_idx ON quizzes (lower(title) text_pattern_ops);
@@ -0,0 +1,17 @@
+-- How many responses picked each answer of each True/False and Multiple Choice question, kept up
+-- to date when responses are submitted or deleted. Each count is split over 16 slots
+-- (response_id % 16) so concurrent submissions don't all wait on the same row; readers sum them.
+CREATE TABLE answer_counts (
+    question_id INTEGER REFERENCES questions(question_id) ON DELETE CASCADE,
+    answer TEXT NOT NULL,
+    slot SMALLINT NOT NULL,
+    count INTEGER NOT NULL,
+    PRIMARY KEY (question_id, answer, slot)
+);
+
+INSERT INTO answer_counts (question_id, answer, slot, count)
+SELECT a.question_id, a.answer, a.response_id % 16, count(*)
+FROM response_answers a
+JOIN questions q ON q.question_id = a.question_id
+WHERE a.answer IS NOT NULL AND q.question_type IN ('True/False', 'Multiple Choice')
+GROUP BY a.question_id, a.answer, a.response_id % 16;
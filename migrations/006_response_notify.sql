@@ -0,0 +1,16 @@
+-- Tell listening windows about new and deleted responses (see ResponseNotifier). Notifications are
+-- only sent when the transaction commits. Payload: INSERT|DELETE:quiz_id:response_id:user_id:name
+CREATE FUNCTION notify_response_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('quiz_responses', 'INSERT:' || NEW.quiz_id || ':' || NEW.response_id || ':'
+            || NEW.user_id || ':' || coalesce((SELECT name FROM users WHERE user_id = NEW.user_id), ''));
+        RETURN NEW;
+    END IF;
+    PERFORM pg_notify('quiz_responses', 'DELETE:' || OLD.quiz_id || ':' || OLD.response_id || ':' || OLD.user_id || ':');
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER responses_notify AFTER INSERT OR DELETE ON responses
+    FOR EACH ROW EXECUTE FUNCTION notify_response_change();
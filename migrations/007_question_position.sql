@@ -0,0 +1,11 @@
+-- Explicit question order within a quiz, so quizzes can be edited and reordered without
+-- re-inserting their questions (responses refer to questions by question_id). Existing questions
+-- keep their current order, which was question_id order.
+ALTER TABLE questions ADD COLUMN position INTEGER NOT NULL DEFAULT 0;
+
+UPDATE questions q SET position = p.position
+FROM (SELECT question_id, row_number() OVER (PARTITION BY quiz_id ORDER BY question_id) - 1 AS position
+      FROM questions) p
+WHERE q.question_id = p.question_id;
+
+CREATE INDEX questions_quiz_position_idx ON questions (quiz_id, position);
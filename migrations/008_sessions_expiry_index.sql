@@ -0,0 +1,3 @@
+-- The expired-session sweep deletes by expiry_time (see DatabaseManager.sweepExpiredSessions);
+-- without this index it scans the whole sessions table every run.
+CREATE INDEX IF NOT EXISTS sessions_expiry_time_idx ON sessions (expiry_time);
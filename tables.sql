@@ -3,7 +3,7 @@ CREATE TABLE users (
     user_id SERIAL PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     username VARCHAR(50) UNIQUE NOT NULL,
-    password VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
     role VARCHAR(20) NOT NULL
 );
 
@@ -21,20 +21,68 @@ CREATE TABLE quizzes (
     title VARCHAR(200) NOT NULL
 );
 
+-- Lets quiz tables and pickers search by title prefix without a full scan
+CREATE INDEX quizzes_title_prefix_idx ON quizzes (lower(title) text_pattern_ops);
+
 -- Create questions table
 CREATE TABLE questions (
     question_id SERIAL PRIMARY KEY,
     quiz_id INTEGER REFERENCES quizzes(quiz_id) ON DELETE CASCADE,
     question_text TEXT NOT NULL,
     question_type VARCHAR(50) NOT NULL,
-    options TEXT
+    options TEXT,
+    correct_answer TEXT,
+    key_version INTEGER NOT NULL DEFAULT 0,
+    graded_key_version INTEGER,
+    position INTEGER NOT NULL DEFAULT 0 -- Order within the quiz; ties go by question_id
 );
+CREATE INDEX questions_quiz_position_idx ON questions (quiz_id, position);
 
 -- Create responses table
 CREATE TABLE responses (
     response_id SERIAL PRIMARY KEY,
     user_id INTEGER REFERENCES users(user_id) ON DELETE CASCADE,
     quiz_id INTEGER REFERENCES quizzes(quiz_id) ON DELETE CASCADE,
-    answers TEXT,
+    score INTEGER,
+    max_score INTEGER,
     UNIQUE (user_id, quiz_id)
 );
+
+-- Create response_answers table (one row per answered question)
+CREATE TABLE response_answers (
+    response_id INTEGER REFERENCES responses(response_id) ON DELETE CASCADE,
+    question_id INTEGER REFERENCES questions(question_id) ON DELETE CASCADE,
+    answer TEXT,
+    is_correct BOOLEAN,
+    PRIMARY KEY (response_id, question_id)
+);
+CREATE INDEX response_answers_question_id_idx ON response_answers (question_id);
+
+-- Notify listening windows (ResponseNotifier) when a response is submitted or deleted
+CREATE FUNCTION notify_response_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        PERFORM pg_notify('quiz_responses', 'INSERT:' || NEW.quiz_id || ':' || NEW.response_id || ':'
+            || NEW.user_id || ':' || coalesce((SELECT name FROM users WHERE user_id = NEW.user_id), ''));
+        RETURN NEW;
+    END IF;
+    PERFORM pg_notify('quiz_responses', 'DELETE:' || OLD.quiz_id || ':' || OLD.response_id || ':' || OLD.user_id || ':');
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER responses_notify AFTER INSERT OR DELETE ON responses
+    FOR EACH ROW EXECUTE FUNCTION notify_response_change();
+
+-- Create answer_counts table (responses per answer of each True/False and Multiple Choice
+-- question, split over 16 slots by response_id % 16 to spread concurrent updates)
+CREATE TABLE answer_counts (
+    question_id INTEGER REFERENCES questions(question_id) ON DELETE CASCADE,
+    answer TEXT NOT NULL,
+    slot SMALLINT NOT NULL,
+    count INTEGER NOT NULL,
+    PRIMARY KEY (question_id, answer, slot)
+);
+
+-- Lets the expired-session sweeper find expired rows without a full scan
+CREATE INDEX sessions_expiry_time_idx ON sessions (expiry_time);